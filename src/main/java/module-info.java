@@ -1,10 +0,0 @@
-module org.example.Trees {
-    requires javafx.controls;
-    requires javafx.fxml;
-    requires java.desktop;
-
-
-    opens org.example.Trees to javafx.fxml;
-    exports org.example.Trees;
-    requires transitive javafx.graphics;
-}
\ No newline at end of file
@@ -0,0 +1,5 @@
+module org.example.Trees.bench {
+    requires org.example.Trees;
+
+    exports org.example.Trees.bench;
+}
@@ -0,0 +1,717 @@
+package org.example.Trees.bench;
+
+import org.example.Trees.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.function.IntConsumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Wall-clock benchmarks for the tree implementations. Each case is run a few
+ * times to warm up the JIT before the measured rounds are averaged.
+ * Usage: TreeBenchmark [suite] [n]  where suite is "heap", "aggregate", "splay",
+ * "rbt", "freeze", "churn", "sharded", "multiqueue", "veb", "scapegoat",
+ * "wavl", "batch", "reduce", "codec", "keylog" or "all".
+ * e.g. java -p trees-core/target/classes:trees-bench/target/classes -m org.example.Trees.bench/org.example.Trees.bench.TreeBenchmark heap
+ */
+public class TreeBenchmark {
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final int TOP_K = 100;
+    // skew of the lookup traces; at 1.2 most lookups go to well under 1% of the keys
+    private static final double ZIPF_EXPONENT = 1.2;
+
+    public static void main(String[] args) {
+        String suite = args.length > 0 ? args[0] : "all";
+        int n = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+
+        if (suite.equals("heap") || suite.equals("all")) heapSuite(n);
+        if (suite.equals("aggregate") || suite.equals("all")) aggregateSuite(n);
+        if (suite.equals("splay") || suite.equals("all")) splaySuite(n);
+        if (suite.equals("rbt") || suite.equals("all")) redBlackSuite(n);
+        if (suite.equals("freeze") || suite.equals("all")) freezeSuite(n);
+        if (suite.equals("churn") || suite.equals("all")) churnSuite(n);
+        if (suite.equals("sharded") || suite.equals("all")) shardedSuite(n);
+        if (suite.equals("multiqueue") || suite.equals("all")) multiQueueSuite(n);
+        if (suite.equals("veb") || suite.equals("all")) vanEmdeBoasSuite(n);
+        if (suite.equals("scapegoat") || suite.equals("all")) scapegoatSuite(n);
+        if (suite.equals("wavl") || suite.equals("all")) wavlSuite(n);
+        if (suite.equals("batch") || suite.equals("all")) batchSuite(n);
+        if (suite.equals("reduce") || suite.equals("all")) reduceSuite(n);
+        if (suite.equals("codec") || suite.equals("all")) codecSuite(n);
+        if (suite.equals("keylog") || suite.equals("all")) keyLogSuite(n);
+    }
+
+    /**
+     * Compares MinHeap against java.util.PriorityQueue for a full
+     * insert/poll cycle, a heapsort drain and a bounded top-K selection.
+     * @param n the number of random values per round
+     */
+    static void heapSuite(int n) {
+        Integer[] values = randomValues(n, 42);
+
+        run("MinHeap insert + poll", 2L * n, () -> {
+            MinHeap<Integer> heap = new MinHeap<>();
+            for (Integer value : values) heap.insert(value);
+            long sum = 0;
+            Integer value;
+            while ((value = heap.poll()) != null) sum += value;
+            return sum;
+        });
+        run("PriorityQueue add + poll", 2L * n, () -> {
+            PriorityQueue<Integer> queue = new PriorityQueue<>();
+            for (Integer value : values) queue.add(value);
+            long sum = 0;
+            Integer value;
+            while ((value = queue.poll()) != null) sum += value;
+            return sum;
+        });
+
+        run("MinHeap offerAll + drainSorted", 2L * n, () -> {
+            MinHeap<Integer> heap = new MinHeap<>();
+            heap.offerAll(values);
+            long sum = 0;
+            for (Integer value : heap.drainSorted()) sum += value;
+            return sum;
+        });
+
+        run("MinHeap(" + TOP_K + ") top-K", n, () -> {
+            MinHeap<Integer> heap = new MinHeap<>(TOP_K);
+            heap.offerAll(values);
+            return heap.peek();
+        });
+        run("PriorityQueue top-K", n, () -> {
+            PriorityQueue<Integer> queue = new PriorityQueue<>(TOP_K);
+            for (Integer value : values) {
+                if (queue.size() < TOP_K) {
+                    queue.add(value);
+                } else if (queue.peek() < value) {
+                    queue.poll();
+                    queue.add(value);
+                }
+            }
+            return queue.peek();
+        });
+    }
+
+    /**
+     * Compares range sums answered by an augmented tree against summing a
+     * subRange scan, over ranges covering about a tenth of the keys.
+     * @param n the number of keys in the tree
+     */
+    static void aggregateSuite(int n) {
+        Augmentation<Integer, Long> sum = Augmentation.sum();
+        AVLTree<Integer> avl = new AVLTree<>(sum);
+        RedBlackTree<Integer> rbt = new RedBlackTree<>(sum);
+        for (Integer value : randomValues(n, 42)) {
+            avl.insert(value);
+            rbt.insert(value);
+        }
+        int queries = 1_000;
+        Integer[] starts = randomValues(queries, 7);
+        Integer[] ends = new Integer[queries];
+        int width = (int) (0x1p32 / 10);
+        for (int i = 0; i < queries; i++) {
+            ends[i] = starts[i] > Integer.MAX_VALUE - width ? Integer.MAX_VALUE : starts[i] + width;
+        }
+
+        run("AVLTree aggregate(sum)", queries, () -> {
+            long total = 0;
+            for (int i = 0; i < queries; i++) total += avl.aggregate(sum, starts[i], ends[i]);
+            return total;
+        });
+        run("RedBlackTree aggregate(sum)", queries, () -> {
+            long total = 0;
+            for (int i = 0; i < queries; i++) total += rbt.aggregate(sum, starts[i], ends[i]);
+            return total;
+        });
+        run("AVLTree subRange scan", queries, () -> {
+            long total = 0;
+            for (int i = 0; i < queries; i++) {
+                for (Integer value : avl.subRange(starts[i], ends[i])) total += value;
+            }
+            return total;
+        });
+    }
+
+    /**
+     * Compares lookups in SplayTree against AVLTree and RedBlackTree on a
+     * Zipfian trace, where a few hot keys receive most of the lookups, and
+     * on a uniform trace as a baseline.
+     * @param n the number of keys in the trees and lookups per round
+     */
+    static void splaySuite(int n) {
+        Integer[] keys = randomValues(n, 42);
+        Integer[] zipf = zipfTrace(keys, n, 11);
+        Integer[] uniform = randomValues(n, 11);
+        for (int i = 0; i < n; i++) uniform[i] = keys[Math.floorMod(uniform[i], n)];
+
+        Map<String, Tree<Integer>> trees = new LinkedHashMap<>();
+        trees.put("AVLTree", new AVLTree<>());
+        trees.put("RedBlackTree", new RedBlackTree<>());
+        trees.put("SplayTree", new SplayTree<>());
+        trees.put("SplayTree(semi)", new SplayTree<>(true));
+        for (Map.Entry<String, Tree<Integer>> entry : trees.entrySet()) {
+            Tree<Integer> tree = entry.getValue();
+            for (Integer key : keys) tree.insert(key);
+            run(entry.getKey() + " zipf lookups", n, () -> countHits(tree, zipf));
+            run(entry.getKey() + " uniform lookups", n, () -> countHits(tree, uniform));
+        }
+    }
+
+    /**
+     * Compares the bottom-up RedBlackTree, which keeps parent pointers, with
+     * the single-pass TopDownRedBlackTree on inserting and then deleting
+     * every value.
+     * @param n the number of random values per round
+     */
+    static void redBlackSuite(int n) {
+        Integer[] values = randomValues(n, 42);
+        run("RedBlackTree insert + delete", 2L * n, () -> insertThenDelete(new RedBlackTree<>(), values));
+        run("TopDownRedBlackTree insert + delete", 2L * n, () -> insertThenDelete(new TopDownRedBlackTree<>(), values));
+    }
+
+    /**
+     * Compares contains() on linked trees with their frozen Eytzinger
+     * snapshots, for random lookups of which about half are hits.
+     * @param n the number of keys in the trees and lookups per round
+     */
+    static void freezeSuite(int n) {
+        Integer[] keys = randomValues(n, 42);
+        Integer[] lookups = randomValues(n, 11);
+        for (int i = 0; i < n; i += 2) lookups[i] = keys[Math.floorMod(lookups[i], n)];
+
+        Map<String, Tree<Integer>> trees = new LinkedHashMap<>();
+        trees.put("AVLTree", new AVLTree<>());
+        trees.put("RedBlackTree", new RedBlackTree<>());
+        for (Map.Entry<String, Tree<Integer>> entry : trees.entrySet()) {
+            Tree<Integer> tree = entry.getValue();
+            for (Integer key : keys) tree.insert(key);
+            Tree<Integer> frozen = tree.freeze();
+            run(entry.getKey() + " contains", n, () -> countHits(tree, lookups));
+            run(entry.getKey() + " frozen contains", n, () -> countHits(frozen, lookups));
+        }
+    }
+
+    /**
+     * Runs a steady 50/50 insert/delete mix on BinarySearchTree and AVLTree
+     * with and without the node pool. Run with -verbose:gc to see the young
+     * collections the pooled trees avoid.
+     * @param n the number of insert/delete pairs per round
+     */
+    static void churnSuite(int n) {
+        Integer[] values = randomValues(1 << 16, 42);
+        Map<String, Tree<Integer>> trees = new LinkedHashMap<>();
+        trees.put("BinarySearchTree", new BinarySearchTree<>());
+        trees.put("BinarySearchTree(pooled)", new BinarySearchTree<>(true));
+        trees.put("AVLTree", new AVLTree<>());
+        trees.put("AVLTree(pooled)", new AVLTree<>(true));
+        for (Map.Entry<String, Tree<Integer>> entry : trees.entrySet()) {
+            Tree<Integer> tree = entry.getValue();
+            for (int i = 0; i < values.length; i += 2) tree.insert(values[i]);
+            run(entry.getKey() + " churn", 2L * n, () -> {
+                for (int i = 0; i < n; i++) {
+                    tree.insert(values[(i * 7) & (values.length - 1)]);
+                    tree.delete(values[(i * 13 + 5) & (values.length - 1)]);
+                }
+                return tree.size();
+            });
+        }
+    }
+
+    /**
+     * Compares concurrent inserts from one thread per core into a single
+     * AVLTree behind one lock with a ShardedTree of AVLTrees, and the
+     * ShardedTree's parallel insertAll.
+     * @param n the number of random values per round
+     */
+    static void shardedSuite(int n) {
+        Integer[] values = randomValues(n, 42);
+        List<Integer> valueList = Arrays.asList(values);
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        run("AVLTree single lock, " + threads + " threads", n, () -> {
+            Tree<Integer> tree = new AVLTree<>();
+            inParallel(threads, n, i -> {
+                synchronized (tree) {
+                    tree.insert(values[i]);
+                }
+            });
+            return tree.size();
+        });
+        run("ShardedTree(" + 4 * threads + "), " + threads + " threads", n, () -> {
+            Tree<Integer> tree = new ShardedTree<>(4 * threads, AVLTree::new);
+            inParallel(threads, n, i -> tree.insert(values[i]));
+            return tree.size();
+        });
+        run("ShardedTree(" + 4 * threads + ") insertAll", n, () -> {
+            ShardedTree<Integer> tree = new ShardedTree<>(4 * threads, AVLTree::new);
+            return tree.insertAll(valueList);
+        });
+    }
+
+    /**
+     * Compares a MultiQueue with two shards per thread against
+     * PriorityBlockingQueue at 1 to 64 threads, each thread alternating
+     * offer and poll on a queue prefilled with n values. Then measures the
+     * MultiQueue's rank error: how many smaller values were still queued
+     * when each value was polled from a shuffled 0..n-1.
+     * @param n the number of offer/poll pairs per round
+     */
+    static void multiQueueSuite(int n) {
+        Integer[] values = randomValues(2 * n, 42);
+
+        for (int threads = 1; threads <= 64; threads *= 2) {
+            int t = threads;
+            run("PriorityBlockingQueue, " + t + " threads", 2L * n, () -> {
+                PriorityBlockingQueue<Integer> queue = new PriorityBlockingQueue<>(2 * n);
+                for (int i = 0; i < n; i++) queue.offer(values[n + i]);
+                inParallel(t, n, i -> {
+                    queue.offer(values[i]);
+                    queue.poll();
+                });
+                return queue.size();
+            });
+            run("MultiQueue(" + 2 * t + "), " + t + " threads", 2L * n, () -> {
+                MultiQueue<Integer> queue = new MultiQueue<>(2 * t);
+                for (int i = 0; i < n; i++) queue.offer(values[n + i]);
+                inParallel(t, n, i -> {
+                    queue.offer(values[i]);
+                    queue.poll();
+                });
+                return queue.size();
+            });
+        }
+
+        for (int shards = 2; shards <= 128; shards *= 4) {
+            MultiQueue<Integer> queue = new MultiQueue<>(shards);
+            List<Integer> shuffled = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) shuffled.add(i);
+            Collections.shuffle(shuffled, new Random(42));
+            for (Integer value : shuffled) queue.offer(value);
+            // Fenwick tree over the values still queued, for rank queries
+            int[] queued = new int[n + 1];
+            for (int i = 1; i <= n; i++) {
+                queued[i]++;
+                if (i + (i & -i) <= n) queued[i + (i & -i)] += queued[i];
+            }
+            long total = 0, max = 0;
+            for (int polled = 0; polled < n; polled++) {
+                int value = queue.poll();
+                long rank = 0;
+                for (int i = value; i > 0; i -= i & -i) rank += queued[i];
+                for (int i = value + 1; i <= n; i += i & -i) queued[i]--;
+                total += rank;
+                max = Math.max(max, rank);
+            }
+            System.out.printf("%-36s mean rank error %8.2f, max %d%n",
+                    "MultiQueue(" + shards + ")", total / (double) n, max);
+        }
+    }
+
+    /**
+     * Compares VanEmdeBoasTree with AVLTree and RedBlackTree on building,
+     * lookups and successor queries over random 32-bit keys, and prints
+     * the heap each one retains per key.
+     * @param n the number of keys in the trees and queries per round
+     */
+    static void vanEmdeBoasSuite(int n) {
+        Integer[] keys = randomValues(n, 42);
+        Integer[] queries = randomValues(n, 11);
+
+        Map<String, Supplier<Tree<Integer>>> factories = new LinkedHashMap<>();
+        factories.put("AVLTree", AVLTree::new);
+        factories.put("RedBlackTree", RedBlackTree::new);
+        factories.put("VanEmdeBoasTree", VanEmdeBoasTree::new);
+        for (Map.Entry<String, Supplier<Tree<Integer>>> entry : factories.entrySet()) {
+            String name = entry.getKey();
+            run(name + " insert + delete", 2L * n, () -> insertThenDelete(entry.getValue().get(), keys));
+            Tree<Integer> tree = entry.getValue().get();
+            for (Integer key : keys) tree.insert(key);
+            run(name + " contains", n, () -> countHits(tree, queries));
+            run(name + " higher", n, () -> {
+                long sum = 0;
+                for (Integer key : queries) {
+                    Integer next = tree.higher(key);
+                    if (next != null) sum += next;
+                }
+                return sum;
+            });
+            System.out.printf("%-36s %10.1f bytes/key%n", name + " retained", bytesPerKey(entry.getValue(), keys));
+        }
+    }
+
+    /**
+     * Compares ScapegoatTree at a few alphas, whose nodes carry no balance
+     * data, with AVLTree and RedBlackTree on inserting and deleting every
+     * value, on lookups, and on the heap retained per key.
+     * @param n the number of random values per round
+     */
+    static void scapegoatSuite(int n) {
+        Integer[] values = randomValues(n, 42);
+        Integer[] lookups = randomValues(n, 11);
+        for (int i = 0; i < n; i += 2) lookups[i] = values[Math.floorMod(lookups[i], n)];
+
+        Map<String, Supplier<Tree<Integer>>> factories = new LinkedHashMap<>();
+        factories.put("AVLTree", AVLTree::new);
+        factories.put("RedBlackTree", RedBlackTree::new);
+        for (double alpha : new double[] {0.55, ScapegoatTree.DEFAULT_ALPHA, 0.8}) {
+            factories.put(String.format("ScapegoatTree(%.2f)", alpha), () -> new ScapegoatTree<>(alpha));
+        }
+        for (Map.Entry<String, Supplier<Tree<Integer>>> entry : factories.entrySet()) {
+            String name = entry.getKey();
+            run(name + " insert + delete", 2L * n, () -> insertThenDelete(entry.getValue().get(), values));
+            Tree<Integer> tree = entry.getValue().get();
+            for (Integer value : values) tree.insert(value);
+            run(name + " contains", n, () -> countHits(tree, lookups));
+            System.out.printf("%-36s %10.1f bytes/key%n", name + " retained", bytesPerKey(entry.getValue(), values));
+        }
+    }
+
+    /**
+     * Compares AVL and WAVL rebalancing on an eviction workload: a window
+     * of n keys where each step evicts the oldest key and inserts a new one,
+     * followed by deleting every key. Prints the rotations per operation.
+     * @param n the number of keys in the window and evictions per round
+     */
+    static void wavlSuite(int n) {
+        Integer[] values = randomValues(2 * n, 42);
+        for (boolean weak : new boolean[] {false, true}) {
+            String name = weak ? "WAVL" : "AVL";
+            run(name + " fill + evict", 3L * n, () -> evict(new AVLTree<>(null, false, weak), values, n));
+            run(name + " fill + delete all", 2L * n, () -> {
+                AVLTree<Integer> tree = new AVLTree<>(null, false, weak);
+                return insertThenDelete(tree, Arrays.copyOf(values, n));
+            });
+
+            AVLTree<Integer> tree = new AVLTree<>(null, false, weak);
+            for (int i = 0; i < n; i++) tree.insert(values[i]);
+            long filled = tree.getRotations();
+            for (int i = 0; i < n; i++) {
+                tree.delete(values[i]);
+                tree.insert(values[n + i]);
+            }
+            long evicted = tree.getRotations();
+            for (int i = n; i < 2 * n; i++) tree.delete(values[i]);
+            System.out.printf("%-36s %10.3f rotations/evict, %.3f rotations/delete%n", name,
+                    (evicted - filled) / (double) n, (tree.getRotations() - evicted) / (double) n);
+        }
+    }
+
+    /**
+     * Compares applyBatch with one call per operation for sorted batches of
+     * n / 64 and n / 4 inserts and deletes, spread evenly over a tree of n
+     * keys. Each round inserts the batch's keys and deletes them again.
+     * @param n the number of keys in the trees
+     */
+    static void batchSuite(int n) {
+        Integer[] keys = new Integer[n];
+        for (int i = 0; i < n; i++) keys[i] = 2 * i;
+        List<Integer> shuffled = new ArrayList<>(Arrays.asList(keys));
+        Collections.shuffle(shuffled, new Random(42));
+
+        Map<String, Supplier<Tree<Integer>>> factories = new LinkedHashMap<>();
+        factories.put("BinarySearchTree", BinarySearchTree::new);
+        factories.put("AVLTree", AVLTree::new);
+        factories.put("RedBlackTree", RedBlackTree::new);
+        for (int k : new int[] {n / 64, n / 4}) {
+            List<Mutation<Integer>> inserts = new ArrayList<>(k), deletes = new ArrayList<>(k);
+            for (int i = 0; i < k; i++) {
+                // odd keys fall between the stored even ones
+                int key = (int) (2L * n * i / k) + 1;
+                inserts.add(Mutation.insert(key));
+                deletes.add(Mutation.delete(key));
+            }
+            for (Map.Entry<String, Supplier<Tree<Integer>>> entry : factories.entrySet()) {
+                Tree<Integer> tree = entry.getValue().get();
+                for (Integer key : shuffled) tree.insert(key);
+                run(entry.getKey() + " k=" + k + " one by one", 2L * k, () -> {
+                    for (Mutation<Integer> op : inserts) tree.insert(op.getValue());
+                    for (Mutation<Integer> op : deletes) tree.delete(op.getValue());
+                    return tree.size();
+                });
+                run(entry.getKey() + " k=" + k + " applyBatch", 2L * k,
+                        () -> tree.applyBatch(inserts) + tree.applyBatch(deletes));
+            }
+        }
+    }
+
+    /**
+     * Compares counting the values matching a predicate by looping over
+     * inorderTraversal() with the fork-join parallelCount() and
+     * parallelSum(), for search trees and a heap.
+     * @param n the number of random values in each tree
+     */
+    static void reduceSuite(int n) {
+        Integer[] values = randomValues(n, 42);
+        Map<String, Tree<Integer>> trees = new LinkedHashMap<>();
+        trees.put("AVLTree", new AVLTree<>());
+        trees.put("RedBlackTree", new RedBlackTree<>());
+        trees.put("MinHeap", new MinHeap<>());
+        System.out.println("common pool parallelism " + ForkJoinPool.getCommonPoolParallelism());
+        for (Map.Entry<String, Tree<Integer>> entry : trees.entrySet()) {
+            Tree<Integer> tree = entry.getValue();
+            for (Integer value : values) tree.insert(value);
+            String name = entry.getKey();
+            run(name + " inorderTraversal count", tree.size(), () -> {
+                long count = 0;
+                for (Integer value : tree.inorderTraversal()) {
+                    if ((value & 7) == 0) count++;
+                }
+                return count;
+            });
+            run(name + " parallelCount", tree.size(), () -> tree.parallelCount(value -> (value & 7) == 0));
+            run(name + " parallelSum", tree.size(), () -> tree.parallelSum(value -> value));
+        }
+    }
+
+    // fills tree with n keys, then slides the window over values, deleting the oldest key and inserting the next
+    private static long evict(Tree<Integer> tree, Integer[] values, int n) {
+        for (int i = 0; i < n; i++) tree.insert(values[i]);
+        for (int i = 0; i < n; i++) {
+            tree.delete(values[i]);
+            tree.insert(values[n + i]);
+        }
+        return tree.size();
+    }
+
+    /**
+     * Compares saving an AVLTree with Java serialization against KeyCodec,
+     * by file size and by the time to load the file back into a tree, for
+     * keys spread over 8n values and over all ints.
+     * @param n the number of keys in the tree
+     */
+    static void codecSuite(int n) {
+        Random random = new Random(42);
+        Map<String, int[]> keySets = new LinkedHashMap<>();
+        keySets.put("dense", random.ints(0, 8 * n).distinct().limit(n).sorted().toArray());
+        keySets.put("sparse", random.ints().distinct().limit(n).sorted().toArray());
+        for (Map.Entry<String, int[]> entry : keySets.entrySet()) {
+            String name = entry.getKey();
+            int[] keys = entry.getValue();
+            AVLTree<Integer> tree = new AVLTree<>();
+            for (int key : keys) tree.insert(key);
+            byte[] serialized = serialize(tree);
+            System.out.printf("%-36s %10.2f bytes/key%n", name + " serialized", serialized.length / (double) n);
+            for (KeyCodec.Encoding encoding : KeyCodec.Encoding.values()) {
+                System.out.printf("%-36s %10.2f bytes/key%n", name + " KeyCodec " + encoding,
+                        encode(tree, encoding).length / (double) n);
+            }
+            byte[] encoded = encode(tree, KeyCodec.Encoding.SHORTEST);
+            run(name + " readObject", n, () -> ((Tree<?>) deserialize(serialized)).size());
+            run(name + " KeyCodec load AVLTree", n, () -> load(encoded, new AVLTree<>()).size());
+            run(name + " KeyCodec load RedBlackTree", n, () -> load(encoded, new RedBlackTree<>()).size());
+            run(name + " KeyCodec read 1% range", 1, () -> {
+                try {
+                    return KeyCodec.read(new ByteArrayInputStream(encoded), keys[n / 2], keys[n / 2 + n / 100]).length;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Compares a full save of a tree of n keys with appending a delta of
+     * 100 changes to a KeyLog, and times the compaction of the deltas.
+     * @param n the number of keys in the tree
+     */
+    static void keyLogSuite(int n) {
+        int changes = 100;
+        Random random = new Random(42);
+        TrackedTree<Integer> tree = new TrackedTree<>(new AVLTree<Integer>());
+        tree.insertAllSorted(KeyCodec.asList(random.ints(0, 8 * n).distinct().limit(n).sorted().toArray()));
+        try {
+            Path file = Files.createTempFile("benchmark", ".keylog");
+            try (KeyLog log = new KeyLog(file)) {
+                run("KeyLog full save", n, () -> {
+                    try {
+                        return log.saveFull(tree);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                System.out.printf("%-36s %10d bytes%n", "full save", log.length());
+                long[] written = new long[1];
+                run("KeyLog delta save, " + changes + " changes", changes, () -> {
+                    for (int i = 0; i < changes; i++) {
+                        int key = random.nextInt(8 * n);
+                        if (!tree.delete(key)) tree.insert(key);
+                    }
+                    try {
+                        written[0] = log.save(tree);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return written[0];
+                });
+                System.out.printf("%-36s %10d bytes%n", "delta save", written[0]);
+                int deltas = log.deltaCount();
+                long start = System.nanoTime();
+                log.compact().get();
+                System.out.printf("%-36s %10.2f ms (%d deltas)%n", "compaction", (System.nanoTime() - start) / 1e6, deltas);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException | ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] serialize(Object object) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] encode(Tree<Integer> tree, KeyCodec.Encoding encoding) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            KeyCodec.write(tree, bytes, encoding);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Tree<Integer> load(byte[] bytes, Tree<Integer> tree) {
+        try {
+            return KeyCodec.load(new ByteArrayInputStream(bytes), tree);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // heap retained by a tree holding keys, per key; the Integer boxes are shared and not counted
+    private static double bytesPerKey(Supplier<Tree<Integer>> factory, Integer[] keys) {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+        Tree<Integer> tree = factory.get();
+        for (Integer key : keys) tree.insert(key);
+        System.gc();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+        Reference.reachabilityFence(tree);
+        return (after - before) / (double) keys.length;
+    }
+
+    // runs body for 0..n-1 split into contiguous slices, one thread per slice
+    private static void inParallel(int threads, int n, IntConsumer body) {
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int from = (int) ((long) n * t / threads), to = (int) ((long) n * (t + 1) / threads);
+            workers[t] = new Thread(() -> {
+                for (int i = from; i < to; i++) body.accept(i);
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static long insertThenDelete(Tree<Integer> tree, Integer[] values) {
+        for (Integer value : values) tree.insert(value);
+        long size = tree.size();
+        for (Integer value : values) tree.delete(value);
+        return size + tree.size();
+    }
+
+    private static long countHits(Tree<Integer> tree, Integer[] trace) {
+        long hits = 0;
+        for (Integer key : trace) {
+            if (tree.contains(key)) hits++;
+        }
+        return hits;
+    }
+
+    /**
+     * Draws a lookup trace from keys where the key of rank k is picked with
+     * probability proportional to 1 / k^ZIPF_EXPONENT.
+     * @param keys the keys to draw from, the hottest first
+     * @param length the number of lookups
+     */
+    static Integer[] zipfTrace(Integer[] keys, int length, long seed) {
+        double[] cumulative = new double[keys.length];
+        double total = 0;
+        for (int k = 0; k < keys.length; k++) {
+            total += 1 / Math.pow(k + 1, ZIPF_EXPONENT);
+            cumulative[k] = total;
+        }
+        Random random = new Random(seed);
+        Integer[] trace = new Integer[length];
+        for (int i = 0; i < length; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+            trace[i] = keys[rank < 0 ? Math.min(-rank - 1, keys.length - 1) : rank];
+        }
+        return trace;
+    }
+
+    static Integer[] randomValues(int n, long seed) {
+        Random random = new Random(seed);
+        Integer[] values = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = random.nextInt();
+        }
+        return values;
+    }
+
+    /**
+     * Runs one benchmark case and prints the average time per round and
+     * per operation. The body returns a checksum so the JIT cannot drop it.
+     */
+    static void run(String name, long operations, LongSupplier body) {
+        long checksum = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            checksum += body.getAsLong();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            checksum += body.getAsLong();
+        }
+        double nanosPerRound = (System.nanoTime() - start) / (double) MEASURED_ROUNDS;
+        System.out.printf("%-36s %10.2f ms %8.1f ns/op   (checksum %d)%n",
+                name, nanosPerRound / 1e6, nanosPerRound / operations, checksum);
+    }
+}
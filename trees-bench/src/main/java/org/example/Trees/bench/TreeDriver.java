@@ -0,0 +1,228 @@
+package org.example.Trees.bench;
+
+import org.example.Trees.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Headless command-line driver which runs an operation script against one of
+ * the tree implementations and prints timing and shape statistics. It never
+ * touches the visualizer, so it runs without a display or JavaFX.
+ *
+ * Usage: TreeDriver &lt;bst|avl|wavl|pooledbst|pooledavl|rbt|tdrbt|avlmap|rbtmap|sharded|splay|semisplay|scapegoat|veb|minheap|maxheap&gt; &lt;script&gt; [repeat]
+ * e.g.   java -p trees-core/target/classes:trees-bench/target/classes -m org.example.Trees.bench/org.example.Trees.bench.TreeDriver avl ops.txt
+ *
+ * Each script line is one of:
+ *   insert &lt;key&gt;, delete &lt;key&gt;, contains &lt;key&gt;
+ *   bulk &lt;insert|delete|contains&gt; &lt;from&gt; &lt;to&gt;   (keys from inclusive to exclusive)
+ *   &lt;key&gt;                                         (a bare key is inserted, so key files work as is)
+ * Blank lines and lines starting with # are ignored.
+ */
+public class TreeDriver {
+    private static final byte INSERT = 0;
+    private static final byte DELETE = 1;
+    private static final byte CONTAINS = 2;
+    private static final String[] OP_NAMES = {"insert", "delete", "contains"};
+
+    // parsed script: op[i] applied to keys from[i] to last[i], both inclusive,
+    // so a range can end at Integer.MAX_VALUE
+    private byte[] ops = new byte[1024];
+    private int[] from = new int[1024];
+    private int[] last = new int[1024];
+    private int count;
+
+    private final long[] hits = new long[3];
+    private final long[] misses = new long[3];
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: TreeDriver <bst|avl|wavl|pooledbst|pooledavl|rbt|tdrbt|avlmap|rbtmap|sharded|splay|semisplay|scapegoat|veb|minheap|maxheap> <script> [repeat]");
+            System.exit(1);
+        }
+        try {
+            Tree<Integer> tree = newTree(args[0]);
+            int repeat = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+
+            TreeDriver driver = new TreeDriver();
+            long start = System.nanoTime();
+            driver.parse(Paths.get(args[1]));
+            long parsed = System.nanoTime();
+            long operations = 0;
+            for (int i = 0; i < repeat; i++) {
+                operations += driver.run(tree);
+            }
+            long finished = System.nanoTime();
+
+            driver.printStats(tree, operations, parsed - start, finished - parsed);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Creates an empty tree from its command-line name.
+     * @param name one of the tree names listed in the usage above
+     * @return a new empty tree
+     */
+    public static Tree<Integer> newTree(String name) {
+        switch (name.toLowerCase()) {
+            case "bst": return new BinarySearchTree<>();
+            case "avl": return new AVLTree<>();
+            case "wavl": return new AVLTree<>(null, false, true);
+            case "pooledbst": return new BinarySearchTree<>(true);
+            case "pooledavl": return new AVLTree<>(true);
+            case "rbt": return new RedBlackTree<>();
+            case "tdrbt": return new TopDownRedBlackTree<>();
+            case "avlmap": return new AVLTreeMap<>();
+            case "rbtmap": return new RedBlackTreeMap<>();
+            case "sharded": return new ShardedTree<>(Runtime.getRuntime().availableProcessors(), AVLTree::new);
+            case "splay": return new SplayTree<>();
+            case "semisplay": return new SplayTree<>(true);
+            case "scapegoat": return new ScapegoatTree<>();
+            case "veb": return new VanEmdeBoasTree();
+            case "minheap": return new MinHeap<>();
+            case "maxheap": return new MaxHeap<>();
+            default: throw new IllegalArgumentException("Unknown tree type: " + name);
+        }
+    }
+
+    /**
+     * Reads a script into the compact op/from/to arrays so that parsing is
+     * kept out of the timed run.
+     */
+    void parse(Path script) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(script, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                try {
+                    parseLine(line.split("\\s+"));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("line " + lineNumber + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void parseLine(String[] words) {
+        if (words.length == 1) {
+            int key = Integer.parseInt(words[0]);
+            add(INSERT, key, key);
+        } else if (words[0].equals("bulk") && words.length == 4) {
+            byte op = parseOp(words[1]);
+            int start = Integer.parseInt(words[2]), end = Integer.parseInt(words[3]);
+            // an empty range is dropped here, as end - 1 would wrap at Integer.MIN_VALUE
+            if (start < end) add(op, start, end - 1);
+        } else if (words.length == 2) {
+            int key = Integer.parseInt(words[1]);
+            add(parseOp(words[0]), key, key);
+        } else {
+            throw new IllegalArgumentException("cannot parse \"" + String.join(" ", words) + "\"");
+        }
+    }
+
+    private static byte parseOp(String word) {
+        for (byte op = 0; op < OP_NAMES.length; op++) {
+            if (OP_NAMES[op].equals(word)) return op;
+        }
+        throw new IllegalArgumentException("unknown operation " + word);
+    }
+
+    private void add(byte op, int firstKey, int lastKey) {
+        if (count == ops.length) {
+            ops = Arrays.copyOf(ops, count * 2);
+            from = Arrays.copyOf(from, count * 2);
+            last = Arrays.copyOf(last, count * 2);
+        }
+        ops[count] = op;
+        from[count] = firstKey;
+        last[count] = lastKey;
+        count++;
+    }
+
+    /**
+     * Applies the parsed script to the tree.
+     * @return the number of single-key operations performed
+     */
+    long run(Tree<Integer> tree) {
+        long operations = 0;
+        for (int i = 0; i < count; i++) {
+            byte op = ops[i];
+            // ranges are inclusive, so this ends after the last key even at Integer.MAX_VALUE
+            int key = from[i];
+            do {
+                boolean hit;
+                switch (op) {
+                    case INSERT:
+                        int before = tree.size();
+                        tree.insert(key);
+                        hit = tree.size() > before;
+                        break;
+                    case DELETE:
+                        hit = tree.delete(key);
+                        break;
+                    default:
+                        hit = tree.contains(key);
+                }
+                if (hit) hits[op]++;
+                else misses[op]++;
+                operations++;
+            } while (key++ != last[i]);
+        }
+        return operations;
+    }
+
+    private void printStats(Tree<Integer> tree, long operations, long parseNanos, long runNanos) {
+        System.out.println("Tree:        " + tree.type());
+        System.out.printf("Parse time:  %.3f ms (%d script entries)%n", parseNanos / 1e6, count);
+        System.out.printf("Run time:    %.3f ms%n", runNanos / 1e6);
+        System.out.printf("Operations:  %d (%.0f ops/s)%n", operations, operations / (runNanos / 1e9));
+        for (int op = 0; op < OP_NAMES.length; op++) {
+            if (hits[op] + misses[op] > 0) {
+                System.out.printf("  %-9s  %d hit, %d miss%n", OP_NAMES[op], hits[op], misses[op]);
+            }
+        }
+        System.out.println("Size:        " + tree.size());
+        System.out.println("Height:      " + height(tree));
+    }
+
+    /**
+     * Computes the height iteratively, since a degenerate tree can be far
+     * deeper than the call stack allows.
+     */
+    static int height(Tree<?> tree) {
+        TreeNode<?> root = tree.getRoot();
+        if (root == null) return 0;
+        Deque<TreeNode<?>> nodes = new ArrayDeque<>();
+        Deque<Integer> depths = new ArrayDeque<>();
+        nodes.push(root);
+        depths.push(1);
+        int height = 0;
+        while (!nodes.isEmpty()) {
+            TreeNode<?> node = nodes.pop();
+            int depth = depths.pop();
+            height = Math.max(height, depth);
+            if (node.getLeft() != null) {
+                nodes.push(node.getLeft());
+                depths.push(depth + 1);
+            }
+            if (node.getRight() != null) {
+                nodes.push(node.getRight());
+                depths.push(depth + 1);
+            }
+        }
+        return height;
+    }
+}
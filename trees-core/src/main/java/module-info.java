@@ -0,0 +1,3 @@
+module org.example.Trees {
+    exports org.example.Trees;
+}
\ No newline at end of file
@@ -0,0 +1,363 @@
+package org.example.Trees;
+//Author: Joseph Hargus
+
+/**
+ * This class implements the AVL (balanced BST) tree.
+ * In WAVL (weak AVL) mode the height field is a rank instead, and every
+ * rank difference between a node and its child is 1 or 2 with leaves at
+ * rank 1. Inserts rebalance exactly as in AVL, so an insert-only WAVL tree
+ * is an AVL tree, while deletes only demote ranks until at most two
+ * rotations end the walk, with O(1) amortized rank changes per update.
+ * The height stays below 2 log2(n).
+ * @param <T>
+ * @author JosephHargus
+ */
+public class AVLTree<T extends Comparable<T>> extends AbstractBinarySearchTree<T, AVLTree.Node<T>> {
+    private final boolean weak;
+    private long rotations;
+
+    static class Node<T> extends BinaryNode<T, Node<T>> {
+        int height;
+
+        Node(T value) {
+            super(value);
+            this.height = 1;
+        }
+    }
+
+    public AVLTree() {
+        this(null, false);
+    }
+
+    /**
+     * @param pooled true to take nodes from preallocated slabs and reuse deleted ones
+     */
+    public AVLTree(boolean pooled) {
+        this(null, pooled);
+    }
+
+    /**
+     * Creates an AVL tree which keeps the given summary of every subtree,
+     * so that aggregate() can answer range queries in O(log n).
+     * @param augmentation the monoid used to summarize values
+     */
+    public AVLTree(Augmentation<? super T, ?> augmentation) {
+        this(augmentation, false);
+    }
+
+    /**
+     * @param augmentation the monoid used to summarize values, or null
+     * @param pooled true to take nodes from preallocated slabs and reuse deleted ones
+     */
+    public AVLTree(Augmentation<? super T, ?> augmentation, boolean pooled) {
+        this(augmentation, pooled, false);
+    }
+
+    /**
+     * @param augmentation the monoid used to summarize values, or null
+     * @param pooled true to take nodes from preallocated slabs and reuse deleted ones
+     * @param weak true to rebalance by WAVL ranks, which rotates less on delete
+     */
+    public AVLTree(Augmentation<? super T, ?> augmentation, boolean pooled, boolean weak) {
+        super(augmentation, pooled);
+        this.weak = weak;
+    }
+
+    /**
+     * @return the number of single rotations done so far; a double rotation counts as two
+     */
+    public long getRotations() {
+        return rotations;
+    }
+
+    private int getHeight(Node<T> node) {
+        if (node == null) return 0;
+        return node.height;
+    }
+
+    /**
+     * Corrects an imbalance at a given Node node due to an addition
+     * in the right subtree of node's right child.
+     * @param node Unbalanced node
+     * @return the Node which replaced node
+     * @author JosephHargus
+     */
+    private Node<T> rightRotation(Node<T> node) {
+        Node<T> c = node.left;
+        rotations++;
+        node.left = c.right;
+        c.right = node;
+        updateHeight(node);
+        updateHeight(c);
+        return c;
+    }
+
+    /**
+     * Corrects an imbalance at a given Node node due to an addition
+     * in the right subtree of node's right child.
+     * @param node Unbalanced node
+     * @return the Node which replaced node
+     * @author JosephHargus
+     */
+    private Node<T> leftRotation(Node<T> node) {
+        Node<T> c = node.right;
+        rotations++;
+        node.right = c.left;
+        c.left = node;
+        updateHeight(node);
+        updateHeight(c);
+        return c;
+    }
+
+    /**
+     * Corrects an imbalance at a given Node node due to an addition
+     * in the left subtree of node's right child.
+     * @param node Unbalanced node
+     * @return the Node which replaced node
+     * @author JosephHargus
+     */
+    private Node<T> rightLeftRotation(Node<T> node) {
+        Node<T> c = node.right;
+        node.right = rightRotation(c);
+        return leftRotation(node);
+    }
+
+    /**
+     * Corrects an imbalance at a given Node node due to an addition
+     * in the right subtree of node's left child.
+     * @param node Unbalanced node
+     * @return the Node which replaced node
+     * @author JosephHargus
+     */
+    private Node<T> leftRightRotation(Node<T> node) {
+        Node<T> c = node.left;
+        node.left = leftRotation(c);
+        return rightRotation(node);
+    }
+
+    /**
+     * Returns 0 if node is balanced.
+     * @param node the Node to check balance for
+     * @return  < 0 if right subtree is larger. > 0 if left subtree is larger
+     */
+    private int getBalanceFactor(Node<T> node) {
+        // if node is null, it is balanced
+        if (node == null) return 0;
+
+        return getHeight(node.left) - getHeight(node.right);
+    }
+
+    /**
+     * Balance the given Node node by performing rotation(s).
+     * @param node The Node to balance
+     * @return the balanced node
+     */
+    private Node<T> balance(Node<T> node) {
+        int balanceFactor = getBalanceFactor(node);
+        if (balanceFactor > 1) {
+            if (getBalanceFactor(node.left) < 0) {
+                node = leftRightRotation(node);
+            } else {
+                node = rightRotation(node);
+            }
+        } else if (balanceFactor < -1) {
+            if (getBalanceFactor(node.right) > 0) {
+                node = rightLeftRotation(node);
+            } else {
+                node = leftRotation(node);
+            }
+        }
+        return node;
+    }
+
+    private Node<T> updateHeight(Node<T> node) {
+        if (node != null) {
+            // a WAVL rank is set by the rebalancing and may exceed the height
+            if (!weak) node.height = 1 + Math.max(getHeight(node.left), getHeight(node.right));
+            // every structural change passes through here, rotations included
+            if (augmentation != null) updateAggregate(node);
+        }
+        return node;
+    }
+
+    @Override
+    protected Node<T> newNode(T value, Node<T> parent) {
+        return new Node<>(value);
+    }
+
+    @Override
+    protected void resetNode(Node<T> node, Node<T> parent) {
+        node.height = 1;
+    }
+
+    @Override
+    protected void afterInsert(Node<T> node, int depth) {
+        updateHeight(node);
+        if (!weak) {
+            rebalance(depth);
+            return;
+        }
+        refreshAggregates(depth);
+        promote(node, depth);
+    }
+
+    // a built tree is height balanced, so its heights are valid WAVL ranks too
+    @Override
+    protected void afterBuild(Node<T> node, int level, int deepest) {
+        node.height = 1 + Math.max(getHeight(node.left), getHeight(node.right));
+        if (augmentation != null) updateAggregate(node);
+    }
+
+    @Override
+    protected void afterDelete(Node<T> removed, Node<T> child, int depth) {
+        if (!weak) {
+            rebalance(depth);
+            return;
+        }
+        refreshAggregates(depth);
+        demote(removed, child, depth);
+    }
+
+    // WAVL rotations keep the contents of every subtree above them, so the
+    // summaries on the path are refreshed once, before the ranks are fixed
+    private void refreshAggregates(int depth) {
+        if (augmentation == null) return;
+        for (int i = depth - 1; i >= 0; i--) updateAggregate(ancestor(i));
+    }
+
+    @Override
+    protected void afterUpdate(Node<T> node, int depth) {
+        // the key is unchanged, so replacing the value needs no rebalancing
+        if (augmentation == null) return;
+        updateAggregate(node);
+        for (int i = depth - 1; i >= 0; i--) updateAggregate(ancestor(i));
+    }
+
+    /**
+     * Walks back up the ancestors of a changed node, updating heights and
+     * rotating where a subtree became unbalanced. Once a subtree keeps its
+     * height nothing above it changes, so the walk stops there unless the
+     * summaries above still need to be refreshed.
+     * @param depth the number of ancestors left by the last descent
+     */
+    private void rebalance(int depth) {
+        for (int i = depth - 1; i >= 0; i--) {
+            Node<T> node = ancestor(i);
+            int oldHeight = node.height;
+            Node<T> balanced = balance(updateHeight(node));
+            if (balanced != node) {
+                replaceChild(i == 0 ? null : ancestor(i - 1), node, balanced);
+                restructured(i);
+            } else if (node.height == oldHeight && augmentation == null) return;
+        }
+    }
+
+    /**
+     * WAVL insert: walks up while x has the same rank as its parent,
+     * promoting the parent when its other child is one rank below, and
+     * otherwise ends with one or two rotations.
+     * @param depth the number of ancestors of x
+     */
+    private void promote(Node<T> x, int depth) {
+        for (int i = depth - 1; i >= 0; i--) {
+            Node<T> p = ancestor(i);
+            if (p.height != x.height) return;
+            boolean left = p.left == x;
+            if (p.height - getHeight(left ? p.right : p.left) == 1) {
+                p.height++;
+                x = p;
+                continue;
+            }
+            Node<T> inner = left ? x.right : x.left;
+            Node<T> top;
+            if (x.height - getHeight(inner) == 2) {
+                p.height--;
+                top = left ? rightRotation(p) : leftRotation(p);
+            } else {
+                p.height--;
+                x.height--;
+                inner.height++;
+                top = left ? leftRightRotation(p) : rightLeftRotation(p);
+            }
+            replaceChild(i == 0 ? null : ancestor(i - 1), p, top);
+            restructured(i);
+            return;
+        }
+    }
+
+    /**
+     * WAVL delete: a leaf left with rank 2 is demoted, and then while a
+     * child is three ranks below its parent the parent is demoted (with
+     * its other child when that one has two children two ranks below),
+     * or the walk ends with one or two rotations.
+     * @param removed the unlinked node, still holding its value
+     * @param x the child that took its place, or null
+     * @param depth the number of ancestors of removed
+     */
+    private void demote(Node<T> removed, Node<T> x, int depth) {
+        if (depth == 0) return;
+        int i = depth - 1;
+        Node<T> p = ancestor(i);
+        boolean left = removed.value.compareTo(p.value) < 0;
+        if (p.left == null && p.right == null) {
+            p.height = 1;
+            if (i == 0) return;
+            x = p;
+            p = ancestor(--i);
+            left = p.left == x;
+        }
+        while (p.height - getHeight(x) == 3) {
+            Node<T> y = left ? p.right : p.left;
+            if (p.height - y.height == 2) {
+                p.height--;
+            } else if (y.height - getHeight(y.left) == 2 && y.height - getHeight(y.right) == 2) {
+                p.height--;
+                y.height--;
+            } else {
+                Node<T> top;
+                if (y.height - getHeight(left ? y.right : y.left) == 1) {
+                    y.height++;
+                    p.height--;
+                    top = left ? leftRotation(p) : rightRotation(p);
+                    if (p.left == null && p.right == null) p.height--;
+                } else {
+                    Node<T> inner = left ? y.left : y.right;
+                    inner.height += 2;
+                    y.height--;
+                    p.height -= 2;
+                    top = left ? rightLeftRotation(p) : leftRightRotation(p);
+                }
+                replaceChild(i == 0 ? null : ancestor(i - 1), p, top);
+                restructured(i);
+                return;
+            }
+            if (i == 0) return;
+            x = p;
+            p = ancestor(--i);
+            left = p.left == x;
+        }
+    }
+
+    /**
+     * Combines the values in [from, to) with the tree's augmentation in
+     * O(log n), using the summaries kept in the nodes along two paths.
+     * @param augmentation the augmentation this tree was created with
+     * @param from the lowest value included, or null for no lower bound
+     * @param to the first value excluded, or null for no upper bound
+     * @return the combined summary, or the identity if the range is empty
+     * @throws IllegalArgumentException if this tree is not augmented with augmentation
+     */
+    public <A> A aggregate(Augmentation<? super T, A> augmentation, T from, T to) {
+        return aggregateRange(augmentation, from, to);
+    }
+
+    @Override
+    public String type() {
+        return weak ? "WAVL" : "AVL";
+    }
+
+    @Override
+    public TreeNode<T> getRoot() {
+        return root;
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.Trees;
+
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Ordered key-value map balanced the same way as AVLTree, whose descents and
+ * rebalancing it shares. The value lives in the node next to its key, so no
+ * separate key-to-payload map is needed. As a Tree it exposes the keys,
+ * which is what the visualizer draws; keys added through the Tree methods
+ * map to null.
+ * The key-value operations are shared with the other map through MapSupport.
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class AVLTreeMap<K extends Comparable<K>, V> extends AVLTree<K> {
+    private static final class MapNode<K, V> extends AVLTree.Node<K> implements MapSupport.Payload<V> {
+        V payload;
+
+        MapNode(K key) {
+            super(key);
+        }
+
+        @Override
+        public V getPayload() {
+            return payload;
+        }
+
+        @Override
+        public void setPayload(V payload) {
+            this.payload = payload;
+        }
+    }
+
+    private final MapSupport<K, V, AVLTree.Node<K>> map = new MapSupport<>(this);
+
+    public AVLTreeMap() {
+        this(null, false, false);
+    }
+
+    /**
+     * @param pooled true to take nodes from preallocated slabs and reuse deleted ones
+     */
+    public AVLTreeMap(boolean pooled) {
+        this(null, pooled, false);
+    }
+
+    /**
+     * @param augmentation the monoid used to summarize keys, or null
+     * @param pooled true to take nodes from preallocated slabs and reuse deleted ones
+     * @param weak true to rebalance by WAVL ranks, which rotates less on delete
+     * @see AVLTree#AVLTree(Augmentation, boolean, boolean)
+     */
+    public AVLTreeMap(Augmentation<? super K, ?> augmentation, boolean pooled, boolean weak) {
+        super(augmentation, pooled, weak);
+    }
+
+    /**
+     * Returns the value stored for key.
+     * @param key the key to look up
+     * @return the value, or null if key is not in the map
+     */
+    public V get(K key) {
+        return map.get(key);
+    }
+
+    public boolean containsKey(K key) {
+        return map.containsKey(key);
+    }
+
+    /**
+     * Stores value under key, replacing any previous value.
+     * @return the previous value, or null if key was not in the map
+     */
+    public V put(K key, V value) {
+        return map.put(key, value);
+    }
+
+    /**
+     * Removes key and its value from the map.
+     * @return the removed value, or null if key was not in the map
+     */
+    public V remove(K key) {
+        return map.remove(key);
+    }
+
+    /**
+     * Replaces the value for key with remapping.apply(key, old), where old is
+     * null if key is absent. A null result removes the key. The key is
+     * searched for once, whichever of the three it comes to. remapping must
+     * not change this map.
+     * @return the new value, or null if key is no longer in the map
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+        return map.compute(key, remapping);
+    }
+
+    /**
+     * @return the entry with the greatest key less than or equal to key, or null
+     */
+    public Map.Entry<K, V> floorEntry(K key) {
+        return map.floorEntry(key);
+    }
+
+    /**
+     * @return the entry with the smallest key greater than or equal to key, or null
+     */
+    public Map.Entry<K, V> ceilingEntry(K key) {
+        return map.ceilingEntry(key);
+    }
+
+    /**
+     * Returns the entries in key order. The iteration is lazy and only keeps
+     * the path to the current node.
+     */
+    public Iterable<Map.Entry<K, V>> entries() {
+        return map.entries();
+    }
+
+    @Override
+    protected AVLTree.Node<K> newNode(K key, AVLTree.Node<K> parent) {
+        return new MapNode<K, V>(key);
+    }
+
+    @Override
+    protected void moveValue(AVLTree.Node<K> from, AVLTree.Node<K> to) {
+        super.moveValue(from, to);
+        map.moveValue(from, to);
+    }
+
+    @Override
+    public String type() {
+        return "AVL Map";
+    }
+}
@@ -0,0 +1,562 @@
+package org.example.Trees;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Shared engine of the binary search trees. It owns the search, insert and
+ * delete descents, which are iterative and compare the key once per level,
+ * and leaves the balancing to hooks that each tree overrides. The ancestors
+ * passed on the way down are kept in a reused array, so trees without parent
+ * pointers can rebalance bottom-up without recursion.
+ * A pooled tree takes its nodes from preallocated slabs and recycles deleted
+ * nodes through a free list, so steady insert/delete churn allocates nothing
+ * and clear() only resets two counters. Node views obtained from a pooled
+ * tree must not be kept across deletes or clear(), as their nodes get reused.
+ * A sorted batch keeps the path between operations as a finger: each
+ * search climbs it only as far as the next key requires and descends from
+ * there, so k evenly spread operations cost O(k log(n/k)) comparisons
+ * instead of O(k log n). Hooks that rotate report it through restructured()
+ * and the finger is cut above the rotation.
+ * @param <T> the type of value stored in the tree
+ * @param <N> the node type of the tree
+ */
+abstract class AbstractBinarySearchTree<T extends Comparable<T>, N extends AbstractBinarySearchTree.BinaryNode<T, N>>
+        implements Tree<T>, Serializable {
+    private static final int SLAB_BITS = 10;
+    private static final int SLAB_SIZE = 1 << SLAB_BITS;
+
+    protected N root;
+    protected int size;
+    // optional subtree summary kept in every node, null when not augmented
+    protected final Augmentation<? super T, Object> augmentation;
+    private final boolean pooled;
+    // node slabs of a pooled tree; the first used slots have been handed out since the last clear
+    private transient Object[][] slabs;
+    private transient int used;
+    // deleted nodes of a pooled tree, chained through their right link
+    private transient N free;
+    // ancestors of the node reached by the last descent, root first
+    private transient Object[] path;
+    private transient int depth;
+    // how much of the path is still linked after the hooks of the current operation
+    private transient int linked;
+    // side of the last ancestor on which a descent that missed its key ended
+    private transient boolean attachLeft;
+
+    abstract static class BinaryNode<T, N extends BinaryNode<T, N>> implements TreeNode<T>, Serializable {
+        T value;
+        N left, right;
+        // summary of the subtree, kept only by augmented trees
+        Object aggregate;
+
+        BinaryNode(T value) {
+            this.value = value;
+        }
+
+        @Override
+        public T getValue() { return value; }
+
+        @Override
+        public TreeNode<T> getLeft() { return left; }
+
+        @Override
+        public TreeNode<T> getRight() { return right; }
+
+        public String getColor() { return null; }
+    }
+
+    protected AbstractBinarySearchTree() {
+        this(false);
+    }
+
+    /**
+     * @param pooled true to allocate nodes from slabs and recycle deleted ones
+     */
+    protected AbstractBinarySearchTree(boolean pooled) {
+        this(null, pooled);
+    }
+
+    /**
+     * @param augmentation the monoid used to summarize subtrees, or null
+     * @param pooled true to allocate nodes from slabs and recycle deleted ones
+     */
+    @SuppressWarnings("unchecked")
+    protected AbstractBinarySearchTree(Augmentation<? super T, ?> augmentation, boolean pooled) {
+        this.augmentation = (Augmentation<? super T, Object>) augmentation;
+        this.pooled = pooled;
+    }
+
+    /**
+     * Creates the node for a new value.
+     * @param value the value to store
+     * @param parent the node it will be attached to, null for the root
+     */
+    protected abstract N newNode(T value, N parent);
+
+    /**
+     * Prepares a recycled node of a pooled tree for a new value, as if it had
+     * just been created by newNode. The value, child links and summary are already reset.
+     */
+    protected void resetNode(N node, N parent) {
+    }
+
+    /**
+     * Called after node was attached as a leaf and counted.
+     * @param depth the number of ancestors of node, see ancestor()
+     */
+    protected void afterInsert(N node, int depth) {
+    }
+
+    /**
+     * Called after removed, which had at most one child, was replaced by child.
+     * When the deleted value had two children its successor was moved into
+     * its node and removed is the successor's old node.
+     * @param depth the number of ancestors of removed, see ancestor()
+     */
+    protected void afterDelete(N removed, N child, int depth) {
+    }
+
+    /**
+     * Called after the value of node was replaced by an equal one.
+     * @param depth the number of ancestors of node, see ancestor()
+     */
+    protected void afterUpdate(N node, int depth) {
+    }
+
+    /**
+     * Moves the value of a deleted value's successor into the deleted
+     * value's node, which stays in the tree while the successor's node is
+     * unlinked. Trees whose nodes carry more than the value move that too.
+     */
+    protected void moveValue(N from, N to) {
+        to.value = from.value;
+    }
+
+    /**
+     * Tells the engine that a hook rotated at ancestor(i), so only the
+     * ancestors above it are still linked as they were on the way down.
+     */
+    protected final void restructured(int i) {
+        if (i < linked) linked = i;
+    }
+
+    /**
+     * Replaces the child link of parent that points to node, or the root.
+     */
+    protected final void replaceChild(N parent, N node, N replacement) {
+        if (parent == null) root = replacement;
+        else if (parent.left == node) parent.left = replacement;
+        else parent.right = replacement;
+    }
+
+    /**
+     * Returns an ancestor of the node reached by the last descent, for use by
+     * the hooks.
+     * @param i 0 for the root, up to depth - 1 for the parent
+     */
+    @SuppressWarnings("unchecked")
+    protected final N ancestor(int i) {
+        return (N) path[i];
+    }
+
+    private void push(N node) {
+        if (path == null) path = new Object[16];
+        else if (depth == path.length) path = Arrays.copyOf(path, depth * 2);
+        path[depth++] = node;
+    }
+
+    private N allocate(T value, N parent) {
+        if (!pooled) return newNode(value, parent);
+        N node = free;
+        if (node != null) free = node.right;
+        else node = nextSlabNode();
+        node.value = value;
+        node.left = null;
+        node.right = null;
+        node.aggregate = null;
+        resetNode(node, parent);
+        return node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private N nextSlabNode() {
+        int slab = used >>> SLAB_BITS;
+        if (slabs == null) slabs = new Object[4][];
+        else if (slab == slabs.length) slabs = Arrays.copyOf(slabs, slab * 2);
+        if (slabs[slab] == null) {
+            Object[] nodes = new Object[SLAB_SIZE];
+            for (int i = 0; i < SLAB_SIZE; i++) nodes[i] = newNode(null, null);
+            slabs[slab] = nodes;
+        }
+        return (N) slabs[slab][used++ & (SLAB_SIZE - 1)];
+    }
+
+    // hands a deleted node back to the pool, dropping its value
+    private void release(N node) {
+        if (!pooled) return;
+        node.value = null;
+        node.left = null;
+        node.right = free;
+        free = node;
+    }
+
+    /**
+     * Finds the node holding value.
+     * @return the node, or null if value is not in the tree
+     */
+    protected final N findNode(T value) {
+        N node = root;
+        while (node != null) {
+            int cmp = value.compareTo(node.value);
+            if (cmp == 0) return node;
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Finds the node equal to key, or attaches a new leaf for it. The
+     * ancestors of the returned node are left in the path.
+     * @param mapping creates the stored value when key is absent; null stores key itself
+     * @return the node holding key after the call
+     */
+    protected final N insert(T key, Function<? super T, ? extends T> mapping) {
+        depth = 0;
+        return insertFrom(root, key, mapping);
+    }
+
+    // insert descent from start, whose depth ancestors are already in the path
+    private N insertFrom(N start, T key, Function<? super T, ? extends T> mapping) {
+        N node = descendFrom(start, key);
+        return node != null ? node : attach(mapping == null ? key : mapping.apply(key));
+    }
+
+    /**
+     * Searches for key from the root and leaves the ancestors of the node
+     * holding it, or of the empty link where it belongs, in the path. An
+     * operation that has to look at the stored value before it decides
+     * what to do finishes with attach() or unlink() instead of searching
+     * again.
+     * @return the node holding key, or null if key is not in the tree
+     */
+    protected final N descend(T key) {
+        depth = 0;
+        return descendFrom(root, key);
+    }
+
+    // descent from start, whose depth ancestors are already in the path
+    private N descendFrom(N start, T key) {
+        N node = start;
+        int cmp = 0;
+        while (node != null) {
+            cmp = key.compareTo(node.value);
+            if (cmp == 0) return node;
+            push(node);
+            node = cmp < 0 ? node.left : node.right;
+        }
+        attachLeft = cmp < 0;
+        return null;
+    }
+
+    /**
+     * Attaches a new leaf for value at the empty link where the last
+     * descent ended. Nothing may change the tree in between.
+     * @return the new node
+     */
+    protected final N attach(T value) {
+        N parent = depth == 0 ? null : ancestor(depth - 1);
+        N node = allocate(value, parent);
+        if (parent == null) root = node;
+        else if (attachLeft) parent.left = node;
+        else parent.right = node;
+        size++;
+        afterInsert(node, depth);
+        return node;
+    }
+
+    @Override
+    public void insert(T value) {
+        insertIfAbsent(value);
+    }
+
+    @Override
+    public boolean insertIfAbsent(T value) {
+        int originalSize = size;
+        insert(value, null);
+        return size > originalSize;
+    }
+
+    @Override
+    public T computeIfAbsent(T key, Function<? super T, ? extends T> mapping) {
+        return insert(key, mapping).value;
+    }
+
+    @Override
+    public T upsert(T value, BinaryOperator<T> remapping) {
+        int originalSize = size;
+        N node = insert(value, null);
+        if (size == originalSize) {
+            node.value = remapping.apply(node.value, value);
+            afterUpdate(node, depth);
+        }
+        return node.value;
+    }
+
+    @Override
+    public boolean delete(T value) {
+        return deleteAndGet(value) != null;
+    }
+
+    /**
+     * Removes value in one descent. A node with two children takes its
+     * successor's value and the successor's node is unlinked instead.
+     */
+    @Override
+    public T deleteAndGet(T value) {
+        depth = 0;
+        return deleteFrom(root, value);
+    }
+
+    // delete descent from start, whose depth ancestors are already in the path
+    private T deleteFrom(N start, T value) {
+        N node = descendFrom(start, value);
+        return node == null ? null : unlink(node);
+    }
+
+    /**
+     * Removes node, which the last descent found, from the tree. A node
+     * with two children takes its successor's value and the successor's
+     * node is unlinked instead. Nothing may change the tree in between.
+     * @return the value that was removed
+     */
+    protected final T unlink(N node) {
+        T removed = node.value;
+        if (node.left != null && node.right != null) {
+            // node takes a larger value, so a finger below it would be wrong for keys in between
+            restructured(depth + 1);
+            push(node);
+            N successor = node.right;
+            while (successor.left != null) {
+                push(successor);
+                successor = successor.left;
+            }
+            moveValue(successor, node);
+            node = successor;
+        }
+        N child = node.left != null ? node.left : node.right;
+        replaceChild(depth == 0 ? null : ancestor(depth - 1), node, child);
+        size--;
+        afterDelete(node, child, depth);
+        release(node);
+        return removed;
+    }
+
+    /**
+     * Applies a sorted batch, resuming each search from the path the
+     * previous operation left behind. Rebalancing still runs after every
+     * operation, but it cuts the finger only where it rotated.
+     */
+    @Override
+    public int applyBatch(List<? extends Mutation<T>> ops) {
+        Mutation.checkSorted(ops);
+        depth = 0;
+        int changed = 0;
+        for (Mutation<T> op : ops) {
+            T key = op.getValue();
+            N start = finger(key);
+            linked = Integer.MAX_VALUE;
+            if (op.isInsert()) {
+                int originalSize = size;
+                insertFrom(start, key, null);
+                if (size > originalSize) changed++;
+            } else if (deleteFrom(start, key) != null) {
+                changed++;
+            }
+            if (linked < depth) depth = linked;
+        }
+        return changed;
+    }
+
+    /**
+     * Builds an empty tree as a perfectly balanced one, allocating and
+     * linking each node once, so n sorted values cost O(n) instead of
+     * n descents. A tree that already holds values takes them as a sorted
+     * batch of inserts.
+     * @throws IllegalArgumentException if sorted is not strictly increasing; nothing is inserted then
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public int insertAllSorted(List<? extends T> sorted) {
+        Object[] values = sorted.toArray();
+        for (int i = 1; i < values.length; i++) {
+            if (((T) values[i - 1]).compareTo((T) values[i]) >= 0) {
+                throw new IllegalArgumentException("Values are not strictly increasing at index " + i + ": " + values[i] + " after " + values[i - 1]);
+            }
+        }
+        if (root != null) {
+            List<Mutation<T>> ops = new ArrayList<>(values.length);
+            for (Object value : values) ops.add(Mutation.insert((T) value));
+            return applyBatch(ops);
+        }
+        if (values.length == 0) return 0;
+        size = values.length;
+        depth = 0;
+        root = build(values, 0, values.length, null, 0, 31 - Integer.numberOfLeadingZeros(values.length));
+        return values.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private N build(Object[] values, int from, int to, N parent, int level, int deepest) {
+        if (from == to) return null;
+        int mid = (from + to) >>> 1;
+        N node = allocate((T) values[mid], parent);
+        node.left = build(values, from, mid, node, level + 1, deepest);
+        node.right = build(values, mid + 1, to, node, level + 1, deepest);
+        afterBuild(node, level, deepest);
+        return node;
+    }
+
+    /**
+     * Called for every node built by insertAllSorted(), after its subtrees.
+     * The halves of every subtree differ in size by at most one, so all
+     * leaves are on the last two levels.
+     * @param level the depth of node, 0 for the root
+     * @param deepest the depth of the last level, which may be incomplete
+     */
+    protected void afterBuild(N node, int level, int deepest) {
+    }
+
+    /**
+     * Climbs the path to the lowest node whose subtree can hold key, given
+     * that key is not below the previous key of the batch, and leaves that
+     * node's ancestors in the path. A node's upper bound is the value of
+     * the nearest ancestor it lies left of, so whole right spines are
+     * skipped at once.
+     */
+    private N finger(T key) {
+        int i = depth - 1;
+        if (i < 0) return root;
+        while (i > 0) {
+            int j = i - 1;
+            while (j >= 0 && ancestor(j).left != ancestor(j + 1)) j--;
+            if (j < 0 || key.compareTo(ancestor(j).value) < 0) break;
+            i = j;
+        }
+        depth = i;
+        return ancestor(i);
+    }
+
+    @Override
+    public boolean contains(T value) {
+        return findNode(value) != null;
+    }
+
+    /**
+     * Empties the tree. A pooled tree keeps its slabs and starts handing
+     * them out again from the first slot, which takes constant time; the old
+     * values stay referenced until their nodes are reused.
+     */
+    @Override
+    public void clear() {
+        root = null;
+        size = 0;
+        path = null;
+        used = 0;
+        free = null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public List<T> inorderTraversal() {
+        List<T> result = new ArrayList<>(size);
+        Deque<N> stack = new ArrayDeque<>();
+        N node = root;
+        while (node != null || !stack.isEmpty()) {
+            for (; node != null; node = node.left) stack.push(node);
+            node = stack.pop();
+            result.add(node.value);
+            node = node.right;
+        }
+        return result;
+    }
+
+    @Override
+    public TreeNode<T> getRoot() {
+        return root;
+    }
+
+    /**
+     * Combines the values in [from, to) with the tree's augmentation in
+     * O(log n), using the summaries kept in the nodes along two paths.
+     * Augmented trees expose this as their public aggregate().
+     * @throws IllegalArgumentException if this tree is not augmented with augmentation
+     */
+    @SuppressWarnings("unchecked")
+    protected final <A> A aggregateRange(Augmentation<? super T, A> augmentation, T from, T to) {
+        if (augmentation == null || augmentation != this.augmentation) {
+            throw new IllegalArgumentException("Tree is not augmented with this augmentation");
+        }
+        // find the highest node inside the range; everything in range is below it
+        N node = root;
+        while (node != null) {
+            if (from != null && node.value.compareTo(from) < 0) node = node.right;
+            else if (to != null && node.value.compareTo(to) >= 0) node = node.left;
+            else break;
+        }
+        if (node == null) return augmentation.identity();
+
+        // values >= from in the left subtree, collected from right to left
+        Object left = this.augmentation.identity();
+        for (N x = node.left; x != null; ) {
+            if (from == null || x.value.compareTo(from) >= 0) {
+                left = combine(combine(lift(x), aggregateOf(x.right)), left);
+                x = x.left;
+            } else {
+                x = x.right;
+            }
+        }
+        // values < to in the right subtree, collected from left to right
+        Object right = this.augmentation.identity();
+        for (N x = node.right; x != null; ) {
+            if (to == null || x.value.compareTo(to) < 0) {
+                right = combine(right, combine(aggregateOf(x.left), lift(x)));
+                x = x.right;
+            } else {
+                x = x.left;
+            }
+        }
+        return (A) combine(combine(left, lift(node)), right);
+    }
+
+    private Object aggregateOf(N node) {
+        return node == null ? augmentation.identity() : node.aggregate;
+    }
+
+    private Object lift(N node) {
+        return augmentation.lift(node.value);
+    }
+
+    private Object combine(Object left, Object right) {
+        return augmentation.combine(left, right);
+    }
+
+    /**
+     * Recomputes a node's summary from its children, which must be up to
+     * date. Only called by augmented trees.
+     */
+    protected final void updateAggregate(N node) {
+        node.aggregate = combine(combine(aggregateOf(node.left), lift(node)), aggregateOf(node.right));
+    }
+
+}
@@ -0,0 +1,70 @@
+package org.example.Trees;
+
+import java.io.Serializable;
+
+/**
+ * A monoid used to summarize the values of a subtree. Trees that accept an
+ * augmentation keep the combined summary of every subtree in its root node,
+ * which lets them aggregate any key range in O(log n).
+ * combine must be associative and identity must be neutral for it; it does
+ * not need to be commutative, values are always combined in key order.
+ * @param <T> the type of value stored in the tree
+ * @param <A> the type of the summary
+ */
+public interface Augmentation<T, A> extends Serializable {
+    A identity();
+    A lift(T value);
+    A combine(A left, A right);
+
+    /**
+     * Counts the values.
+     */
+    static <T> Augmentation<T, Integer> count() {
+        return new Augmentation<T, Integer>() {
+            public Integer identity() { return 0; }
+            public Integer lift(T value) { return 1; }
+            public Integer combine(Integer left, Integer right) { return left + right; }
+        };
+    }
+
+    /**
+     * Sums the values as longs.
+     */
+    static <T extends Number> Augmentation<T, Long> sum() {
+        return new Augmentation<T, Long>() {
+            public Long identity() { return 0L; }
+            public Long lift(T value) { return value.longValue(); }
+            public Long combine(Long left, Long right) { return left + right; }
+        };
+    }
+
+    /**
+     * Finds the smallest value; the identity is null.
+     */
+    static <T extends Comparable<T>> Augmentation<T, T> min() {
+        return new Augmentation<T, T>() {
+            public T identity() { return null; }
+            public T lift(T value) { return value; }
+            public T combine(T left, T right) {
+                if (left == null) return right;
+                if (right == null) return left;
+                return left.compareTo(right) <= 0 ? left : right;
+            }
+        };
+    }
+
+    /**
+     * Finds the largest value; the identity is null.
+     */
+    static <T extends Comparable<T>> Augmentation<T, T> max() {
+        return new Augmentation<T, T>() {
+            public T identity() { return null; }
+            public T lift(T value) { return value; }
+            public T combine(T left, T right) {
+                if (left == null) return right;
+                if (right == null) return left;
+                return left.compareTo(right) >= 0 ? left : right;
+            }
+        };
+    }
+}
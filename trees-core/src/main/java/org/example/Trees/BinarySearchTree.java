@@ -0,0 +1,31 @@
+package org.example.Trees;
+//Auther: Abdelnasser Ouda
+
+public class BinarySearchTree<T extends Comparable<T>> extends AbstractBinarySearchTree<T, BinarySearchTree.Node<T>> {
+
+    static final class Node<T> extends BinaryNode<T, Node<T>> {
+        Node(T value) {
+            super(value);
+        }
+    }
+
+    public BinarySearchTree() {
+    }
+
+    /**
+     * @param pooled true to take nodes from preallocated slabs and reuse deleted ones
+     */
+    public BinarySearchTree(boolean pooled) {
+        super(pooled);
+    }
+
+    @Override
+    protected Node<T> newNode(T value, Node<T> parent) {
+        return new Node<>(value);
+    }
+
+    @Override
+    public String type() {
+         return "BST";
+    }
+}
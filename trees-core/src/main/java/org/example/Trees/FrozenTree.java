@@ -0,0 +1,340 @@
+package org.example.Trees;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Read-only snapshot of a tree, built by Tree.freeze(). The values are kept
+ * in one array in Eytzinger order: slot 1 is the root and slot k has its
+ * children in slots 2k and 2k + 1, like a heap but in search order. A
+ * search touches the first few levels in neighbouring slots, and its loop
+ * has no data-dependent branch apart from the exit. When every value is an
+ * Integer they are kept unboxed in an int[] instead, so the snapshot holds
+ * no references to boxed values, and they are boxed again only as they are
+ * read.
+ * @param <T> the type of value stored in the tree
+ */
+final class FrozenTree<T extends Comparable<T>> implements Tree<T> {
+    // values in Eytzinger order in slots 1..size, slot 0 unused; null when ints holds them
+    private final Object[] keys;
+    // the values unboxed in the same order when they are all Integers, else null
+    private final int[] ints;
+    private final int size;
+    private final String type;
+
+    private FrozenTree(Object[] keys, int[] ints, int size, String type) {
+        this.keys = keys;
+        this.ints = ints;
+        this.size = size;
+        this.type = type;
+    }
+
+    /**
+     * Lays out the values of tree, which are sorted first if the tree does
+     * not list them in order.
+     */
+    static <T extends Comparable<T>> FrozenTree<T> of(Tree<T> tree) {
+        List<T> values = tree.inorderTraversal();
+        for (int i = 1; i < values.size(); i++) {
+            if (values.get(i - 1).compareTo(values.get(i)) > 0) {
+                values = new ArrayList<>(values);
+                values.sort(null);
+                break;
+            }
+        }
+        int n = values.size();
+        boolean allInts = n > 0;
+        for (T value : values) allInts &= value instanceof Integer;
+        Object[] keys = allInts ? null : new Object[n + 1];
+        int[] ints = allInts ? new int[n + 1] : null;
+        int k = first(n);
+        for (T value : values) {
+            if (allInts) ints[k] = (Integer) value;
+            else keys[k] = value;
+            k = next(k, n);
+        }
+        return new FrozenTree<>(keys, ints, n, "Frozen " + tree.type());
+    }
+
+    // slot of the smallest value, 1 if the tree is empty
+    private static int first(int n) {
+        int k = 1;
+        while (2 * k <= n) k = 2 * k;
+        return k;
+    }
+
+    // slot of the largest value, or 0 if the tree is empty
+    private static int last(int n) {
+        if (n == 0) return 0;
+        int k = 1;
+        while (2 * k + 1 <= n) k = 2 * k + 1;
+        return k;
+    }
+
+    // slot of the next larger value, or 0 after the last one
+    private static int next(int k, int n) {
+        if (2 * k + 1 <= n) {
+            k = 2 * k + 1;
+            while (2 * k <= n) k = 2 * k;
+            return k;
+        }
+        // climb while k is a right child; the parent of a left child is next
+        while ((k & 1) == 1) k >>= 1;
+        return k >> 1;
+    }
+
+    // slot of the next smaller value, or 0 before the first one
+    private static int previous(int k, int n) {
+        if (k == 0) return last(n);
+        if (2 * k <= n) {
+            k = 2 * k;
+            while (2 * k + 1 <= n) k = 2 * k + 1;
+            return k;
+        }
+        while ((k & 1) == 0) k >>= 1;
+        return k >> 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T key(int k) {
+        return ints != null ? (T) Integer.valueOf(ints[k]) : (T) keys[k];
+    }
+
+    /**
+     * Finds the slot of the smallest value greater than key, or greater than
+     * or equal to it when inclusive. The descent always runs to the bottom;
+     * the answer is the last slot where it went left, which is recovered
+     * from the trailing one bits of the final position.
+     * @return the slot, or 0 if there is no such value
+     */
+    @SuppressWarnings("unchecked")
+    private int lowerBound(T key, boolean inclusive) {
+        int k = 1;
+        if (ints != null) {
+            int x = (Integer) key;
+            if (inclusive) {
+                while (k <= size) k = 2 * k + (ints[k] < x ? 1 : 0);
+            } else {
+                while (k <= size) k = 2 * k + (ints[k] <= x ? 1 : 0);
+            }
+        } else if (inclusive) {
+            while (k <= size) k = 2 * k + (((T) keys[k]).compareTo(key) < 0 ? 1 : 0);
+        } else {
+            while (k <= size) k = 2 * k + (((T) keys[k]).compareTo(key) <= 0 ? 1 : 0);
+        }
+        return k >> (Integer.numberOfTrailingZeros(~k) + 1);
+    }
+
+    @Override
+    public boolean contains(T value) {
+        int k = lowerBound(value, true);
+        if (k == 0) return false;
+        return ints != null ? ints[k] == (Integer) value : key(k).compareTo(value) == 0;
+    }
+
+    @Override
+    public T ceiling(T key) {
+        int k = lowerBound(key, true);
+        return k == 0 ? null : key(k);
+    }
+
+    @Override
+    public T higher(T key) {
+        int k = lowerBound(key, false);
+        return k == 0 ? null : key(k);
+    }
+
+    @Override
+    public T floor(T key) {
+        int k = previous(lowerBound(key, false), size);
+        return k == 0 ? null : key(k);
+    }
+
+    @Override
+    public T lower(T key) {
+        int k = previous(lowerBound(key, true), size);
+        return k == 0 ? null : key(k);
+    }
+
+    @Override
+    public T first() {
+        return size == 0 ? null : key(first(size));
+    }
+
+    @Override
+    public T last() {
+        return size == 0 ? null : key(last(size));
+    }
+
+    @Override
+    public Iterable<T> subRange(T from, T to) {
+        return () -> new Iterator<T>() {
+            private int next = size == 0 ? 0 : from == null ? first(size) : lowerBound(from, true);
+
+            @Override
+            public boolean hasNext() {
+                return next != 0 && (to == null || key(next).compareTo(to) < 0);
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                T value = key(next);
+                next = FrozenTree.next(next, size);
+                return value;
+            }
+        };
+    }
+
+    @Override
+    public List<T> inorderTraversal() {
+        List<T> result = new ArrayList<>(size);
+        for (int k = size == 0 ? 0 : first(size); k != 0; k = next(k, size)) result.add(key(k));
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String type() {
+        return type;
+    }
+
+    @Override
+    public Tree<T> freeze() {
+        return this;
+    }
+
+    @Override
+    public TreeNode<T> getRoot() {
+        return size == 0 ? null : new Slot(1);
+    }
+
+    @Override
+    public TreeCursor<T> cursor() {
+        return new SlotCursor();
+    }
+
+    private UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("A frozen tree is read-only");
+    }
+
+    @Override
+    public void insert(T value) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean insertIfAbsent(T value) {
+        throw readOnly();
+    }
+
+    @Override
+    public T computeIfAbsent(T key, Function<? super T, ? extends T> mapping) {
+        throw readOnly();
+    }
+
+    @Override
+    public T upsert(T value, BinaryOperator<T> remapping) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean delete(T value) {
+        throw readOnly();
+    }
+
+    @Override
+    public T deleteAndGet(T value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void clear() {
+        throw readOnly();
+    }
+
+    // node view of one slot, created on demand
+    private class Slot implements TreeNode<T> {
+        private final int index;
+
+        Slot(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public T getValue() { return key(index); }
+
+        @Override
+        public TreeNode<T> getLeft() { return 2 * index <= size ? new Slot(2 * index) : null; }
+
+        @Override
+        public TreeNode<T> getRight() { return 2 * index + 1 <= size ? new Slot(2 * index + 1) : null; }
+
+        public String getColor() { return null; }
+    }
+
+    // moves over the slots by index arithmetic
+    private class SlotCursor implements TreeCursor<T> {
+        private int index;
+
+        @Override
+        public boolean toRoot() {
+            index = size == 0 ? 0 : 1;
+            return index != 0;
+        }
+
+        @Override
+        public boolean toLeft() {
+            if (!hasLeft()) return false;
+            index = 2 * index;
+            return true;
+        }
+
+        @Override
+        public boolean toRight() {
+            if (!hasRight()) return false;
+            index = 2 * index + 1;
+            return true;
+        }
+
+        @Override
+        public boolean toParent() {
+            if (index <= 1) return false;
+            index >>= 1;
+            return true;
+        }
+
+        @Override
+        public boolean hasLeft() {
+            return index != 0 && 2 * index <= size;
+        }
+
+        @Override
+        public boolean hasRight() {
+            return index != 0 && 2 * index + 1 <= size;
+        }
+
+        @Override
+        public int depth() {
+            return 31 - Integer.numberOfLeadingZeros(index);
+        }
+
+        @Override
+        public T value() {
+            return key(index);
+        }
+
+        @Override
+        public String color() {
+            return null;
+        }
+    }
+}
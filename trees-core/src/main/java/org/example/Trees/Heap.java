@@ -0,0 +1,502 @@
+package org.example.Trees;
+//Auther: Abdelnasser Ouda
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+public abstract class Heap<T extends Comparable<T>> implements Tree<T> , Serializable {
+    protected ArrayList<T> heap;
+    protected final int capacity;
+
+    public Heap() {
+        heap = new ArrayList<>();
+        capacity = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Creates a bounded heap which never holds more than capacity elements.
+     * Once full, a new element only gets in by replacing the root, so a
+     * MinHeap keeps the capacity largest values seen and a MaxHeap keeps
+     * the capacity smallest.
+     * @param capacity the maximum number of elements kept
+     */
+    public Heap(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Heap capacity must be positive: " + capacity);
+        heap = new ArrayList<>(capacity);
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void insert(T value) {
+        offer(value);
+    }
+
+    /**
+     * Adds a value to the heap. When the heap is full the value is compared
+     * against the root once: if the root would sit above it, the root is
+     * evicted and the value sifted down in its place, otherwise it is rejected.
+     * @param value the value to add
+     * @return true if the value is now in the heap
+     */
+    public boolean offer(T value) {
+        if (heap.size() < capacity) {
+            heap.add(value);
+            heapifyUp(heap.size() - 1);
+            return true;
+        }
+        if (!higherPriority(heap.get(0), value)) return false;
+        heap.set(0, value);
+        heapifyDown(0);
+        return true;
+    }
+
+    /**
+     * Offers every value in the array.
+     * @param values the values to add
+     * @return the number of values accepted
+     */
+    public int offerAll(T[] values) {
+        int accepted = 0;
+        for (T value : values) {
+            if (offer(value)) accepted++;
+        }
+        return accepted;
+    }
+
+    /**
+     * Offers every value produced by the iterable.
+     * @param values the values to add
+     * @return the number of values accepted
+     */
+    public int offerAll(Iterable<? extends T> values) {
+        return offerAll(values.iterator());
+    }
+
+    /**
+     * Offers every value of the stream, consuming it.
+     * @param values the values to add
+     * @return the number of values accepted
+     */
+    public int offerAll(Stream<? extends T> values) {
+        return offerAll(values.iterator());
+    }
+
+    private int offerAll(Iterator<? extends T> values) {
+        int accepted = 0;
+        while (values.hasNext()) {
+            if (offer(values.next())) accepted++;
+        }
+        return accepted;
+    }
+
+    /**
+     * Fills an empty heap that has room for all values by heapifying them
+     * bottom-up in O(n), instead of sifting each one up.
+     */
+    @Override
+    public int insertAllSorted(List<? extends T> sorted) {
+        if (!heap.isEmpty() || sorted.size() > capacity) return Tree.super.insertAllSorted(sorted);
+        heap.addAll(sorted);
+        for (int i = heap.size() / 2 - 1; i >= 0; i--) heapifyDown(i);
+        return heap.size();
+    }
+
+    /**
+     * Returns the root of the heap without removing it.
+     * @return the minimum (MinHeap) or maximum (MaxHeap) element, or null if empty
+     */
+    public T peek() {
+        return heap.isEmpty() ? null : heap.get(0);
+    }
+
+    /**
+     * Removes and returns the root of the heap.
+     * @return the minimum (MinHeap) or maximum (MaxHeap) element, or null if empty
+     */
+    public T poll() {
+        if (heap.isEmpty()) return null;
+        T root = heap.get(0);
+        T last = heap.remove(heap.size() - 1);
+        if (!heap.isEmpty()) {
+            heap.set(0, last);
+            heapifyDown(0);
+        }
+        return root;
+    }
+
+    /**
+     * Removes up to n elements from the root of the heap.
+     * @param n the maximum number of elements to remove
+     * @return the removed elements in the order poll() would return them
+     */
+    public List<T> pollBatch(int n) {
+        int count = Math.min(Math.max(n, 0), heap.size());
+        List<T> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(poll());
+        }
+        return result;
+    }
+
+    /**
+     * Empties the heap, returning its elements ordered from the root down
+     * (ascending for a MinHeap, descending for a MaxHeap). The elements are
+     * heapsorted in place, so no second array is allocated.
+     * @return the former contents of the heap in priority order
+     */
+    public List<T> drainSorted() {
+        ArrayList<T> sorted = heap;
+        for (int end = sorted.size() - 1; end > 0; end--) {
+            swap(0, end);
+            heapifyDown(0, end);
+        }
+        // heapsort leaves the lowest priority element first
+        for (int i = 0, j = sorted.size() - 1; i < j; i++, j--) {
+            swap(i, j);
+        }
+        heap = capacity == Integer.MAX_VALUE ? new ArrayList<>() : new ArrayList<>(capacity);
+        return sorted;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public boolean isFull() {
+        return heap.size() >= capacity;
+    }
+
+    @Override
+    public boolean delete(T value) {
+        return deleteAndGet(value) != null;
+    }
+
+    @Override
+    public T deleteAndGet(T value) {
+        int index = heap.indexOf(value);
+        if (index == -1) return null;
+        T removed = heap.get(index);
+
+        int lastIndex = heap.size() - 1;
+        swap(index, lastIndex);
+        heap.remove(lastIndex);
+
+        if (index < heap.size()) {
+            // the moved element may belong above or below its new position
+            heapifyDown(index);
+            heapifyUp(index);
+        }
+
+        return removed;
+    }
+
+    // heaps are not searchable, so each of these scans the backing list once
+
+    @Override
+    public boolean insertIfAbsent(T value) {
+        return !heap.contains(value) && offer(value);
+    }
+
+    @Override
+    public T computeIfAbsent(T key, Function<? super T, ? extends T> mapping) {
+        int index = heap.indexOf(key);
+        if (index != -1) return heap.get(index);
+        T value = mapping.apply(key);
+        offer(value);
+        return value;
+    }
+
+    @Override
+    public T upsert(T value, BinaryOperator<T> remapping) {
+        int index = heap.indexOf(value);
+        if (index == -1) {
+            offer(value);
+            return value;
+        }
+        T merged = remapping.apply(heap.get(index), value);
+        heap.set(index, merged);
+        heapifyDown(index);
+        heapifyUp(index);
+        return merged;
+    }
+
+    // A heap is not a search tree, so navigation scans the backing list.
+    // MinHeap.first() and MaxHeap.last() just read the root.
+
+    @Override
+    public T floor(T key) {
+        return closest(key, true, true);
+    }
+
+    @Override
+    public T ceiling(T key) {
+        return closest(key, false, true);
+    }
+
+    @Override
+    public T lower(T key) {
+        return closest(key, true, false);
+    }
+
+    @Override
+    public T higher(T key) {
+        return closest(key, false, false);
+    }
+
+    @Override
+    public T first() {
+        T min = null;
+        for (T value : heap) {
+            if (min == null || value.compareTo(min) < 0) min = value;
+        }
+        return min;
+    }
+
+    @Override
+    public T last() {
+        T max = null;
+        for (T value : heap) {
+            if (max == null || value.compareTo(max) > 0) max = value;
+        }
+        return max;
+    }
+
+    /**
+     * Sorts only the elements inside [from, to) and iterates those.
+     */
+    @Override
+    public Iterable<T> subRange(T from, T to) {
+        List<T> range = new ArrayList<>();
+        for (T value : heap) {
+            if ((from == null || value.compareTo(from) >= 0) && (to == null || value.compareTo(to) < 0)) {
+                range.add(value);
+            }
+        }
+        Collections.sort(range);
+        return range;
+    }
+
+    // finds the closest value below key (or above it when below is false)
+    private T closest(T key, boolean below, boolean inclusive) {
+        T best = null;
+        for (T value : heap) {
+            int cmp = value.compareTo(key);
+            boolean candidate = below ? (cmp < 0 || (inclusive && cmp == 0)) : (cmp > 0 || (inclusive && cmp == 0));
+            if (candidate && (best == null || (below ? value.compareTo(best) > 0 : value.compareTo(best) < 0))) {
+                best = value;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public boolean contains(T value) {
+        return heap.contains(value);
+    }
+
+    @Override
+    public void clear() {
+        heap.clear();
+    }
+
+    @Override
+    public int size() {
+        return heap.size();
+    }
+
+    @Override
+    public List<T> inorderTraversal() {
+        return new ArrayList<>(heap);
+    }
+
+    @Override
+    public TreeNode<T> getRoot() {
+        return heap.isEmpty() ? null : new HeapNode(0);
+    }
+
+    @Override
+    public TreeCursor<T> cursor() {
+        return new HeapCursor();
+    }
+
+    /**
+     * Splits the backing array into index ranges instead of walking the
+     * heap as a tree. The values come in array order, not sorted.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new IndexSpliterator(0, heap.size());
+    }
+
+    /**
+     * Returns true if a belongs strictly above b in this heap.
+     */
+    protected abstract boolean higherPriority(T a, T b);
+
+    protected abstract void heapifyUp(int index);
+
+    /**
+     * Sifts the element at index down until it is above both of its
+     * children, considering only the first size elements of the heap.
+     */
+    protected abstract void heapifyDown(int index, int size);
+
+    protected void heapifyDown(int index) {
+        heapifyDown(index, heap.size());
+    }
+
+    protected void swap(int i, int j) {
+        T temp = heap.get(i);
+        heap.set(i, heap.get(j));
+        heap.set(j, temp);
+    }
+
+    protected int getParentIndex(int i) {
+        return (i - 1) / 2;
+    }
+
+    protected int getLeftChildIndex(int i) {
+        return 2 * i + 1;
+    }
+
+    protected int getRightChildIndex(int i) {
+        return 2 * i + 2;
+    }
+
+    private class HeapNode implements TreeNode<T> {
+        private int index;
+
+        HeapNode(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public T getValue() {
+            return heap.get(index);
+        }
+
+        @Override
+        public TreeNode<T> getLeft() {
+            int leftIndex = getLeftChildIndex(index);
+            return leftIndex < heap.size() ? new HeapNode(leftIndex) : null;
+        }
+
+        @Override
+        public TreeNode<T> getRight() {
+            int rightIndex = getRightChildIndex(index);
+            return rightIndex < heap.size() ? new HeapNode(rightIndex) : null;
+        }
+
+        public String getColor() { return "null"; }
+    }
+
+    // halves its index range down to NodeSpliterator.GRAIN values
+    private class IndexSpliterator implements Spliterator<T> {
+        private int from;
+        private final int to;
+
+        IndexSpliterator(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (to - from <= NodeSpliterator.GRAIN) return null;
+            int mid = (from + to) >>> 1;
+            Spliterator<T> prefix = new IndexSpliterator(from, mid);
+            from = mid;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (from >= to) return false;
+            action.accept(heap.get(from++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            for (int i = from; i < to; i++) action.accept(heap.get(i));
+            from = to;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return SIZED | SUBSIZED | NONNULL;
+        }
+    }
+
+    /**
+     * Cursor which walks the heap by index arithmetic instead of creating
+     * a HeapNode for every child.
+     */
+    private class HeapCursor implements TreeCursor<T> {
+        private int index;
+
+        @Override
+        public boolean toRoot() {
+            index = 0;
+            return !heap.isEmpty();
+        }
+
+        @Override
+        public boolean toLeft() {
+            if (!hasLeft()) return false;
+            index = getLeftChildIndex(index);
+            return true;
+        }
+
+        @Override
+        public boolean toRight() {
+            if (!hasRight()) return false;
+            index = getRightChildIndex(index);
+            return true;
+        }
+
+        @Override
+        public boolean toParent() {
+            if (index == 0) return false;
+            index = getParentIndex(index);
+            return true;
+        }
+
+        @Override
+        public boolean hasLeft() {
+            return getLeftChildIndex(index) < heap.size();
+        }
+
+        @Override
+        public boolean hasRight() {
+            return getRightChildIndex(index) < heap.size();
+        }
+
+        @Override
+        public int depth() {
+            return 31 - Integer.numberOfLeadingZeros(index + 1);
+        }
+
+        @Override
+        public T value() {
+            return heap.get(index);
+        }
+
+        @Override
+        public String color() {
+            return "null";
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.Trees;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A closed interval [start, end]. Intervals are ordered by start and then by
+ * end, which is the order an IntervalTree keeps them in.
+ * @param <P> the type of the endpoints
+ */
+public final class Interval<P extends Comparable<P>> implements Comparable<Interval<P>>, Serializable {
+    private final P start;
+    private final P end;
+
+    /**
+     * @throws IllegalArgumentException if start is after end
+     */
+    public Interval(P start, P end) {
+        if (start.compareTo(end) > 0) {
+            throw new IllegalArgumentException("Interval start " + start + " is after its end " + end);
+        }
+        this.start = start;
+        this.end = end;
+    }
+
+    public P getStart() {
+        return start;
+    }
+
+    public P getEnd() {
+        return end;
+    }
+
+    /**
+     * @return true if point lies inside this interval, endpoints included
+     */
+    public boolean contains(P point) {
+        return start.compareTo(point) <= 0 && point.compareTo(end) <= 0;
+    }
+
+    /**
+     * @return true if this interval and [from, to] share at least one point
+     */
+    public boolean overlaps(P from, P to) {
+        return start.compareTo(to) <= 0 && from.compareTo(end) <= 0;
+    }
+
+    @Override
+    public int compareTo(Interval<P> other) {
+        int cmp = start.compareTo(other.start);
+        return cmp != 0 ? cmp : end.compareTo(other.end);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Interval)) return false;
+        Interval<?> other = (Interval<?>) o;
+        return start.equals(other.start) && end.equals(other.end);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + start + "," + end + "]";
+    }
+}
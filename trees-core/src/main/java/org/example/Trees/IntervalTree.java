@@ -0,0 +1,57 @@
+package org.example.Trees;
+
+/**
+ * Red-Black Tree of intervals ordered by their start. Every node also keeps
+ * the largest end point in its subtree; the rotations done by fixInsert and
+ * fixDelete refresh it, so it is always exact. Whole subtrees whose largest
+ * end point lies before a query can then be skipped, and the stabbing and
+ * overlap queries cost O((k + 1) log n) for k results.
+ * @param <P> the type of the interval end points
+ */
+public class IntervalTree<P extends Comparable<P>> extends RedBlackTree<Interval<P>> {
+
+    public IntervalTree() {
+        super(new MaxEnd<P>());
+    }
+
+    // summarizes a subtree by the largest end point in it, null when empty
+    private static class MaxEnd<P extends Comparable<P>> implements Augmentation<Interval<P>, P> {
+        public P identity() { return null; }
+        public P lift(Interval<P> value) { return value.getEnd(); }
+        public P combine(P left, P right) {
+            if (left == null) return right;
+            if (right == null) return left;
+            return left.compareTo(right) >= 0 ? left : right;
+        }
+    }
+
+    /**
+     * Returns the intervals containing point, in order. The iteration is lazy.
+     * @param point the point to stab with
+     */
+    public Iterable<Interval<P>> stab(P point) {
+        return overlapping(point, point);
+    }
+
+    /**
+     * Returns the intervals sharing at least one point with [from, to], in
+     * order. The iteration is lazy and only keeps the path to the current node.
+     * @param from the start of the query interval
+     * @param to the end of the query interval
+     * @throws IllegalArgumentException if from is after to
+     */
+    public Iterable<Interval<P>> overlapping(P from, P to) {
+        if (from.compareTo(to) > 0) {
+            throw new IllegalArgumentException("Query start " + from + " is after its end " + to);
+        }
+        return () -> this.<P>search(
+                maxEnd -> maxEnd != null && maxEnd.compareTo(from) >= 0,
+                interval -> interval.getStart().compareTo(to) > 0,
+                interval -> interval.overlaps(from, to));
+    }
+
+    @Override
+    public String type() {
+        return "Interval Tree";
+    }
+}
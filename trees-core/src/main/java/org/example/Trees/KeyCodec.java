@@ -0,0 +1,316 @@
+package org.example.Trees;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Compact file format for a set of int keys, such as the values of a
+ * Tree<Integer>. The keys are stored in increasing order in blocks of up to
+ * BLOCK_SIZE. Each block starts with its key count, its first and last key
+ * and the length of its payload, so a reader after a range of keys skips
+ * whole blocks without decoding them. The payload holds the gap between
+ * each key and the one before it, less one, either as varints of 7 bits a
+ * byte or bit-packed at the width of the largest gap in the block. Keys
+ * spaced a few hundred apart take one or two bytes each, where a serialized
+ * Integer node takes ten or more. Reading the keys back into an empty
+ * search tree builds it in linear time, see Tree.insertAllSorted().
+ * The streams are neither buffered nor closed here.
+ */
+public final class KeyCodec {
+    public static final int BLOCK_SIZE = 128;
+
+    private static final int MAGIC = 0x4B455953; // "KEYS"
+    private static final int VERSION = 1;
+
+    /**
+     * How the gaps inside a block are written.
+     */
+    public enum Encoding {
+        /** 7 bits a byte, so small gaps stay small whatever the others are */
+        VARINT,
+        /** every gap at the width of the largest, which suits evenly spread keys */
+        BIT_PACKED,
+        /** whichever of the two is shorter, chosen per block */
+        SHORTEST
+    }
+
+    private KeyCodec() {
+    }
+
+    /**
+     * Writes the values of tree, choosing the shorter encoding per block.
+     */
+    public static void write(Tree<Integer> tree, OutputStream out) throws IOException {
+        write(tree, out, Encoding.SHORTEST);
+    }
+
+    /**
+     * Writes the values of tree, which are sorted first if the tree does
+     * not list them in order. Duplicates, which only heaps can hold, are
+     * written once.
+     */
+    public static void write(Tree<Integer> tree, OutputStream out, Encoding encoding) throws IOException {
+        write(sortedKeys(tree.inorderTraversal()), out, encoding);
+    }
+
+    // the values unboxed, sorted and without duplicates
+    static int[] sortedKeys(List<Integer> values) {
+        int[] keys = new int[values.size()];
+        boolean sorted = true;
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = values.get(i);
+            sorted &= i == 0 || keys[i - 1] < keys[i];
+        }
+        if (!sorted) {
+            Arrays.sort(keys);
+            int distinct = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (i == 0 || keys[i] != keys[distinct - 1]) keys[distinct++] = keys[i];
+            }
+            keys = Arrays.copyOf(keys, distinct);
+        }
+        return keys;
+    }
+
+    /**
+     * Writes keys, which must be strictly increasing.
+     * @throws IllegalArgumentException if they are not; nothing is written then
+     */
+    public static void write(int[] keys, OutputStream out, Encoding encoding) throws IOException {
+        for (int i = 1; i < keys.length; i++) {
+            if (keys[i - 1] >= keys[i]) {
+                throw new IllegalArgumentException("Keys are not strictly increasing at index " + i + ": " + keys[i] + " after " + keys[i - 1]);
+            }
+        }
+        // header, then per block: count, min, max - min, payload length, encoding, payload
+        byte[] buffer = new byte[32 + 5 * BLOCK_SIZE];
+        int length = putInt(buffer, 0, MAGIC);
+        buffer[length++] = VERSION;
+        length = putVarint(buffer, length, keys.length);
+        out.write(buffer, 0, length);
+        for (int from = 0; from < keys.length; from += BLOCK_SIZE) {
+            int to = Math.min(from + BLOCK_SIZE, keys.length);
+            // the gaps go after the block header, which is at most 20 bytes
+            int varintLength = putVarintGaps(buffer, 32, keys, from, to);
+            int width = 32 - Integer.numberOfLeadingZeros(largestGap(keys, from, to));
+            int packedLength = (int) (((long) (to - from - 1) * width + 7) >>> 3);
+            boolean packed = encoding == Encoding.BIT_PACKED
+                    || encoding == Encoding.SHORTEST && packedLength < varintLength;
+            int payload;
+            if (packed) {
+                payload = packedLength;
+                putPackedGaps(buffer, 32, keys, from, to, width);
+            } else {
+                payload = varintLength;
+            }
+            int header = putVarint(buffer, 0, to - from);
+            header = putInt(buffer, header, keys[from]);
+            header = putVarint(buffer, header, keys[to - 1] - keys[from]);
+            header = putVarint(buffer, header, payload);
+            buffer[header++] = (byte) (packed ? width : -1);
+            out.write(buffer, 0, header);
+            out.write(buffer, 32, payload);
+        }
+    }
+
+    /**
+     * Reads all keys of a stream written by write().
+     * @return the keys in increasing order
+     * @throws IOException if the stream is not a key file or ends early
+     */
+    public static int[] read(InputStream in) throws IOException {
+        return read(in, Integer.MIN_VALUE, Integer.MAX_VALUE, false);
+    }
+
+    /**
+     * Reads the keys in [from, to). Blocks entirely below from are skipped
+     * without being decoded, and reading stops at the first block starting
+     * at or above to, leaving the rest of the stream unread.
+     * @return the keys in range in increasing order
+     */
+    public static int[] read(InputStream in, int from, int to) throws IOException {
+        if (from >= to) return new int[0];
+        return read(in, from, to - 1, true);
+    }
+
+    private static int[] read(InputStream in, int low, int high, boolean ranged) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) throw new IOException("Not a key file");
+        int version = data.readUnsignedByte();
+        if (version != VERSION) throw new IOException("Unsupported key file version " + version);
+        int remaining = readVarint(data);
+        if (remaining < 0) throw new IOException("Corrupt key count " + remaining);
+        int[] keys = new int[ranged ? 16 : remaining];
+        int count = 0;
+        byte[] payload = new byte[5 * BLOCK_SIZE];
+        int[] block = new int[BLOCK_SIZE];
+        while (remaining > 0) {
+            int n = readVarint(data);
+            int min = data.readInt();
+            int max = min + readVarint(data);
+            int length = readVarint(data);
+            int width = data.readByte();
+            if (n < 1 || n > Math.min(remaining, BLOCK_SIZE) || length < 0 || length > payload.length
+                    || width < -1 || width > 32 || width >= 0 && length != ((n - 1) * width + 7) >>> 3) {
+                throw new IOException("Corrupt key block");
+            }
+            remaining -= n;
+            if (min > high) break;
+            if (max < low) {
+                data.skipNBytes(length);
+                continue;
+            }
+            data.readFully(payload, 0, length);
+            block[0] = min;
+            if (width < 0) readVarintGaps(payload, length, block, n);
+            else readPackedGaps(payload, block, n, width);
+            if (block[n - 1] != max) throw new IOException("Corrupt key block");
+            if (!ranged) {
+                System.arraycopy(block, 0, keys, count, n);
+                count += n;
+                continue;
+            }
+            for (int i = 0; i < n; i++) {
+                if (block[i] < low || block[i] > high) continue;
+                if (count == keys.length) keys = Arrays.copyOf(keys, count * 2);
+                keys[count++] = block[i];
+            }
+        }
+        return count == keys.length ? keys : Arrays.copyOf(keys, count);
+    }
+
+    /**
+     * Reads a stream written by write() into tree, which is built in linear
+     * time if it is an empty search tree or heap.
+     * @return tree
+     */
+    public static <X extends Tree<Integer>> X load(InputStream in, X tree) throws IOException {
+        tree.insertAllSorted(asList(read(in)));
+        return tree;
+    }
+
+    /**
+     * @return a fixed-size list view of keys, boxing each one as it is read
+     */
+    public static List<Integer> asList(int[] keys) {
+        return new IntList(keys);
+    }
+
+    private static final class IntList extends AbstractList<Integer> implements RandomAccess {
+        private final int[] keys;
+
+        IntList(int[] keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        public Integer get(int index) {
+            return keys[index];
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public Object[] toArray() {
+            Object[] values = new Object[keys.length];
+            for (int i = 0; i < keys.length; i++) values[i] = keys[i];
+            return values;
+        }
+    }
+
+    // Gaps are unsigned: between Integer.MIN_VALUE and MAX_VALUE one is 2^32 - 2.
+
+    private static int largestGap(int[] keys, int from, int to) {
+        int largest = 0;
+        for (int i = from + 1; i < to; i++) {
+            int gap = keys[i] - keys[i - 1] - 1;
+            if (Integer.compareUnsigned(gap, largest) > 0) largest = gap;
+        }
+        return largest;
+    }
+
+    private static int putVarintGaps(byte[] buffer, int offset, int[] keys, int from, int to) {
+        int start = offset;
+        for (int i = from + 1; i < to; i++) offset = putVarint(buffer, offset, keys[i] - keys[i - 1] - 1);
+        return offset - start;
+    }
+
+    private static void readVarintGaps(byte[] payload, int length, int[] block, int n) throws IOException {
+        int offset = 0;
+        for (int i = 1; i < n; i++) {
+            int gap = 0;
+            for (int shift = 0; ; shift += 7) {
+                if (offset == length || shift > 28) throw new IOException("Corrupt key block");
+                byte b = payload[offset++];
+                gap |= (b & 0x7F) << shift;
+                if (b >= 0) break;
+            }
+            block[i] = block[i - 1] + gap + 1;
+        }
+        if (offset != length) throw new IOException("Corrupt key block");
+    }
+
+    // little-endian bit stream, width bits per gap
+    private static void putPackedGaps(byte[] buffer, int offset, int[] keys, int from, int to, int width) {
+        long bits = 0;
+        int pending = 0;
+        for (int i = from + 1; i < to; i++) {
+            bits |= Integer.toUnsignedLong(keys[i] - keys[i - 1] - 1) << pending;
+            pending += width;
+            for (; pending >= 8; pending -= 8, bits >>>= 8) buffer[offset++] = (byte) bits;
+        }
+        if (pending > 0) buffer[offset] = (byte) bits;
+    }
+
+    private static void readPackedGaps(byte[] payload, int[] block, int n, int width) {
+        long mask = (1L << width) - 1;
+        long bits = 0;
+        int pending = 0, offset = 0;
+        for (int i = 1; i < n; i++) {
+            while (pending < width) {
+                bits |= (payload[offset++] & 0xFFL) << pending;
+                pending += 8;
+            }
+            block[i] = block[i - 1] + (int) (bits & mask) + 1;
+            bits >>>= width;
+            pending -= width;
+        }
+    }
+
+    private static int putInt(byte[] buffer, int offset, int value) {
+        buffer[offset] = (byte) (value >>> 24);
+        buffer[offset + 1] = (byte) (value >>> 16);
+        buffer[offset + 2] = (byte) (value >>> 8);
+        buffer[offset + 3] = (byte) value;
+        return offset + 4;
+    }
+
+    // value is read as unsigned, 7 bits a byte, low bits first
+    private static int putVarint(byte[] buffer, int offset, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[offset++] = (byte) value;
+        return offset;
+    }
+
+    private static int readVarint(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift <= 28; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if (b < 0x80) return value;
+        }
+        throw new IOException("Corrupt varint");
+    }
+}
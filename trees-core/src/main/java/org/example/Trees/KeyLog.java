@@ -0,0 +1,448 @@
+package org.example.Trees;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Save file of a TrackedTree<Integer> that grows by deltas. The file holds
+ * one full segment with every key, followed by delta segments with only
+ * the keys changed since the segment before, so frequent saves cost in
+ * proportion to the changes rather than to the tree. Each segment carries
+ * the lineage and sequence range of the tree it came from, and a delta is
+ * only appended when it starts where the file ends; otherwise, and after
+ * clear(), the file is replaced by a full segment.
+ * Once the deltas reach a quarter of the full segment's size, or
+ * MAX_DELTAS segments, they are compacted into a new full segment on a
+ * background thread. Deltas appended while it runs are carried over, and
+ * the file is swapped by an atomic rename once the new one is forced to
+ * disk, so it always holds a complete chain. Each delta is forced to disk
+ * as it is appended. Segments are framed by their length and CRC-32; the
+ * chain ends at the first segment that is cut short, fails its CRC or
+ * does not follow on, as a crash during an append leaves it, and that
+ * tail is ignored and overwritten by the next save.
+ * The keys are stored with KeyCodec. A log is safe to use from several
+ * threads, but each tree must only be saved from the thread changing it.
+ */
+public final class KeyLog implements Closeable {
+    public static final int MAX_DELTAS = 64;
+
+    private static final int MAGIC = 0x4B4C4F47; // "KLOG"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 5;
+    private static final byte FULL = 0, DELTA = 1;
+
+    private final Path file;
+    private final ExecutorService compactor;
+    // lineage and last sequence of the chain in the file, valid when end > 0
+    private long lineage, sequence;
+    // end of the last complete segment, 0 if there is no valid file
+    private long end;
+    private long fullBytes, deltaBytes;
+    private int deltaCount;
+    // bumped whenever the file is replaced, so a compaction of an older file is dropped
+    private long generation;
+    private Future<?> compaction;
+
+    /**
+     * Opens the log at file, reading the segment headers if it is not empty.
+     * @throws IOException if the file exists but is not a valid log
+     */
+    public KeyLog(Path file) throws IOException {
+        this.file = file;
+        this.compactor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "KeyLog compaction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // an empty file, such as a new temporary one, holds no log yet
+        if (Files.exists(file) && Files.size(file) > 0) scan();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return the number of delta segments after the full one
+     */
+    public synchronized int deltaCount() {
+        return deltaCount;
+    }
+
+    /**
+     * @return the size of the complete segments in bytes
+     */
+    public synchronized long length() {
+        return end;
+    }
+
+    /**
+     * Saves tree, as a delta when the file ends at the tree's last save and
+     * in full otherwise.
+     * @return the number of bytes written
+     */
+    public long save(TrackedTree<Integer> tree) throws IOException {
+        return save(tree, false);
+    }
+
+    /**
+     * Replaces the file with a full segment of tree.
+     * @return the number of bytes written
+     */
+    public long saveFull(TrackedTree<Integer> tree) throws IOException {
+        return save(tree, true);
+    }
+
+    private long save(TrackedTree<Integer> tree, boolean full) throws IOException {
+        TrackedTree.Changes<Integer> changes = tree.changes(full);
+        long written;
+        synchronized (this) {
+            if (!changes.full && !follows(changes)) changes = tree.changes(true);
+            written = write(changes);
+        }
+        tree.saved(changes.lineage, changes.to);
+        return written;
+    }
+
+    /**
+     * @return true if changes can be appended as a delta, as they start where the file ends
+     */
+    synchronized boolean follows(TrackedTree.Changes<Integer> changes) {
+        return end > 0 && lineage == changes.lineage && sequence == changes.from;
+    }
+
+    /**
+     * Writes a snapshot taken by TrackedTree.changes(), which may have been
+     * taken on another thread.
+     * @throws IllegalStateException if changes is a delta that does not follow the file
+     */
+    synchronized long write(TrackedTree.Changes<Integer> changes) throws IOException {
+        if (changes.full) return writeFull(changes.lineage, changes.to, KeyCodec.sortedKeys(changes.present));
+        if (!follows(changes)) throw new IllegalStateException("Delta does not follow the end of " + file);
+        if (changes.to == sequence) return 0;
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(body);
+        out.writeByte(DELTA);
+        out.writeLong(changes.lineage);
+        out.writeLong(changes.from);
+        out.writeLong(changes.to);
+        KeyCodec.write(KeyCodec.sortedKeys(changes.present), out, KeyCodec.Encoding.SHORTEST);
+        KeyCodec.write(KeyCodec.sortedKeys(changes.absent), out, KeyCodec.Encoding.SHORTEST);
+        byte[] bytes = body.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        ByteBuffer frame = ByteBuffer.allocate(8 + bytes.length);
+        frame.putInt(bytes.length).putInt((int) crc.getValue()).put(bytes).flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            // drops a segment cut short by an earlier crash
+            channel.truncate(end);
+            channel.position(end);
+            while (frame.hasRemaining()) channel.write(frame);
+            // on disk before end moves past it, so a later append never follows a lost one
+            channel.force(true);
+        }
+        end += 8 + bytes.length;
+        deltaBytes += 8 + bytes.length;
+        deltaCount++;
+        sequence = changes.to;
+        if (deltaBytes > fullBytes / 4 || deltaCount >= MAX_DELTAS) compact();
+        return 8 + bytes.length;
+    }
+
+    private long writeFull(long lineage, long to, int[] keys) throws IOException {
+        Path temporary = writeFullFile(lineage, to, keys);
+        long length = Files.size(temporary);
+        replace(temporary);
+        this.lineage = lineage;
+        sequence = to;
+        end = length;
+        fullBytes = length - HEADER_BYTES;
+        deltaBytes = 0;
+        deltaCount = 0;
+        generation++;
+        return length;
+    }
+
+    // writes a log holding one full segment next to file and returns its path
+    private Path writeFullFile(long lineage, long to, int[] keys) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            CRC32 crc = new CRC32();
+            OutputStream stream = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16);
+            DataOutputStream out = new DataOutputStream(stream);
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            // length and CRC are filled in once the body is written
+            out.writeLong(0);
+            DataOutputStream body = new DataOutputStream(new CheckedOutputStream(stream, crc));
+            body.writeByte(FULL);
+            body.writeLong(lineage);
+            body.writeLong(0);
+            body.writeLong(to);
+            KeyCodec.write(keys, body, KeyCodec.Encoding.SHORTEST);
+            body.flush();
+            long length = channel.size() - HEADER_BYTES - 8;
+            if (length > Integer.MAX_VALUE) throw new IOException("Segment too large: " + length + " bytes");
+            ByteBuffer frame = ByteBuffer.allocate(8).putInt((int) length).putInt((int) crc.getValue()).flip();
+            channel.write(frame, HEADER_BYTES);
+            // on disk before it can be renamed over the previous file
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        return temporary;
+    }
+
+    /**
+     * Renames temporary, already forced to disk, over the file and then
+     * forces the directory, so that after a crash the file is either the
+     * old log or the new one in full. Some platforms cannot open a
+     * directory; the rename is then as durable as the platform makes it.
+     */
+    private void replace(Path temporary) throws IOException {
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        try (FileChannel directory = FileChannel.open(file.toAbsolutePath().getParent(), StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException e) {
+            // the directory cannot be synced here, as on Windows
+        }
+    }
+
+    /**
+     * Loads the saved keys into tree, replacing its contents, and marks it
+     * as saved at the log's last sequence so later saves append deltas.
+     */
+    public void load(TrackedTree<Integer> tree) throws IOException {
+        long lineage, sequence, limit;
+        InputStream in;
+        synchronized (this) {
+            if (end == 0) throw new IOException("No saved tree in " + file);
+            lineage = this.lineage;
+            sequence = this.sequence;
+            limit = end;
+            in = Files.newInputStream(file);
+        }
+        int[] keys = replay(in, limit);
+        tree.getTree().clear();
+        tree.getTree().insertAllSorted(KeyCodec.asList(keys));
+        tree.restored(lineage, sequence);
+    }
+
+    /**
+     * @return the keys of the saved tree in increasing order
+     */
+    public int[] readKeys() throws IOException {
+        long limit;
+        InputStream in;
+        synchronized (this) {
+            if (end == 0) return new int[0];
+            limit = end;
+            in = Files.newInputStream(file);
+        }
+        return replay(in, limit);
+    }
+
+    /**
+     * Starts compacting the deltas in the background, unless that is
+     * already under way.
+     * @return the running compaction, which may also have been started by a save
+     */
+    public synchronized Future<?> compact() {
+        if (compaction == null) {
+            compaction = compactor.submit(() -> {
+                rewrite();
+                return null;
+            });
+        }
+        return compaction;
+    }
+
+    // replaces the full segment and the deltas present when it started by one full segment
+    private void rewrite() throws IOException {
+        try {
+            long limit, lineage, sequence, generation;
+            int compacted;
+            InputStream in;
+            synchronized (this) {
+                if (deltaCount == 0) return;
+                limit = end;
+                lineage = this.lineage;
+                sequence = this.sequence;
+                generation = this.generation;
+                compacted = deltaCount;
+                // opened before a full save could replace the file
+                in = Files.newInputStream(file);
+            }
+            Path temporary = writeFullFile(lineage, sequence, replay(in, limit));
+            synchronized (this) {
+                if (generation != this.generation) {
+                    Files.deleteIfExists(temporary);
+                    return;
+                }
+                long newFull = Files.size(temporary) - HEADER_BYTES;
+                // deltas appended meanwhile follow on from the compacted state
+                try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ);
+                     FileChannel target = FileChannel.open(temporary, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    for (long position = limit; position < end; ) {
+                        position += source.transferTo(position, end - position, target);
+                    }
+                    target.force(true);
+                } catch (IOException e) {
+                    Files.deleteIfExists(temporary);
+                    throw e;
+                }
+                replace(temporary);
+                end = HEADER_BYTES + newFull + (end - limit);
+                fullBytes = newFull;
+                deltaBytes = end - HEADER_BYTES - newFull;
+                deltaCount -= compacted;
+                this.generation++;
+            }
+        } finally {
+            synchronized (this) {
+                compaction = null;
+            }
+        }
+    }
+
+    /**
+     * Waits for a running compaction and stops the background thread.
+     */
+    @Override
+    public void close() throws IOException {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reads the segments to find where the valid chain ends. The chain stops
+     * at the first segment which runs past the end of the file, fails its
+     * CRC, or does not follow on from the one before, as is left by a crash
+     * during an append; the next save overwrites it.
+     */
+    private void scan() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC) throw new IOException("Not a key log: " + file);
+            int version = in.readUnsignedByte();
+            if (version != VERSION) throw new IOException("Unsupported key log version " + version);
+            long position = HEADER_BYTES, size = Files.size(file);
+            byte[] buffer = new byte[1 << 16];
+            while (position + 8 + 25 <= size) {
+                int length = in.readInt();
+                int checksum = in.readInt();
+                if (length < 25 || position + 8 + length > size) break;
+                CRC32 crc = new CRC32();
+                in.readFully(buffer, 0, 25);
+                crc.update(buffer, 0, 25);
+                ByteBuffer header = ByteBuffer.wrap(buffer, 0, 25);
+                byte kind = header.get();
+                long segmentLineage = header.getLong(), from = header.getLong(), to = header.getLong();
+                for (int remaining = length - 25; remaining > 0; ) {
+                    int n = Math.min(remaining, buffer.length);
+                    in.readFully(buffer, 0, n);
+                    crc.update(buffer, 0, n);
+                    remaining -= n;
+                }
+                if ((int) crc.getValue() != checksum) break;
+                if (position == HEADER_BYTES ? kind != FULL : kind != DELTA || segmentLineage != lineage || from != sequence) break;
+                if (kind == FULL) fullBytes = 8 + length;
+                else {
+                    deltaBytes += 8 + length;
+                    deltaCount++;
+                }
+                lineage = segmentLineage;
+                sequence = to;
+                position += 8 + length;
+                end = position;
+            }
+        } catch (EOFException e) {
+            throw new IOException("Truncated key log: " + file, e);
+        }
+    }
+
+    /**
+     * Reads the full segment and applies the deltas up to limit. The last
+     * state of every key changed by a delta is collected first, so the
+     * deltas are merged into the full key set in one pass.
+     */
+    private int[] replay(InputStream file, long limit) throws IOException {
+        int[] keys = null;
+        Map<Integer, Boolean> changed = new HashMap<>();
+        try (InputStream stream = new BufferedInputStream(file, 1 << 16)) {
+            DataInputStream in = new DataInputStream(stream);
+            in.skipNBytes(HEADER_BYTES);
+            for (long position = HEADER_BYTES; position < limit; ) {
+                int length = in.readInt();
+                int checksum = in.readInt();
+                byte[] bytes = new byte[length];
+                in.readFully(bytes);
+                CRC32 crc = new CRC32();
+                crc.update(bytes);
+                if ((int) crc.getValue() != checksum) throw new IOException("Corrupt segment in " + this.file + " at byte " + position);
+                DataInputStream body = new DataInputStream(new ByteArrayInputStream(bytes));
+                byte kind = body.readByte();
+                body.skipNBytes(24);
+                if (kind == FULL) {
+                    keys = KeyCodec.read(body);
+                } else {
+                    for (int key : KeyCodec.read(body)) changed.put(key, true);
+                    for (int key : KeyCodec.read(body)) changed.put(key, false);
+                }
+                position += 8 + length;
+            }
+        }
+        if (keys == null) throw new IOException("No full segment in " + this.file);
+        return merge(keys, changed);
+    }
+
+    // keys with the changed ones added or removed, still sorted
+    private static int[] merge(int[] keys, Map<Integer, Boolean> changed) {
+        if (changed.isEmpty()) return keys;
+        int[] updates = new int[changed.size()];
+        int u = 0;
+        for (Integer key : changed.keySet()) updates[u++] = key;
+        Arrays.sort(updates);
+        int[] result = new int[keys.length + updates.length];
+        int count = 0, i = 0;
+        for (int update : updates) {
+            while (i < keys.length && keys[i] < update) result[count++] = keys[i++];
+            if (i < keys.length && keys[i] == update) i++;
+            if (changed.get(update)) result[count++] = update;
+        }
+        while (i < keys.length) result[count++] = keys[i++];
+        return Arrays.copyOf(result, count);
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.Trees;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+/**
+ * Key-value operations shared by AVLTreeMap and RedBlackTreeMap. They run on
+ * the engine's descents of the tree they belong to, whatever it balances by,
+ * and keep each value in the node of its key through the Payload interface
+ * which the nodes of both maps implement.
+ * @param <K> the key type
+ * @param <V> the value type
+ * @param <N> the node type of the tree
+ */
+final class MapSupport<K extends Comparable<K>, V, N extends AbstractBinarySearchTree.BinaryNode<K, N>>
+        implements Serializable {
+    /**
+     * Value slot of a map node.
+     */
+    interface Payload<V> {
+        V getPayload();
+
+        void setPayload(V payload);
+    }
+
+    private final AbstractBinarySearchTree<K, N> tree;
+
+    MapSupport(AbstractBinarySearchTree<K, N> tree) {
+        this.tree = tree;
+    }
+
+    // every node of a map implements Payload, see newNode() of the maps
+    @SuppressWarnings("unchecked")
+    private Payload<V> payload(N node) {
+        return (Payload<V>) node;
+    }
+
+    V get(K key) {
+        N node = tree.findNode(key);
+        return node == null ? null : payload(node).getPayload();
+    }
+
+    boolean containsKey(K key) {
+        return tree.findNode(key) != null;
+    }
+
+    V put(K key, V value) {
+        Payload<V> node = payload(tree.insert(key, null));
+        V previous = node.getPayload();
+        node.setPayload(value);
+        return previous;
+    }
+
+    V remove(K key) {
+        N node = tree.descend(key);
+        if (node == null) return null;
+        V removed = payload(node).getPayload();
+        tree.unlink(node);
+        return removed;
+    }
+
+    V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+        N node = tree.descend(key);
+        V value = remapping.apply(key, node == null ? null : payload(node).getPayload());
+        if (value == null) {
+            if (node != null) tree.unlink(node);
+        } else if (node != null) {
+            payload(node).setPayload(value);
+        } else {
+            payload(tree.attach(key)).setPayload(value);
+        }
+        return value;
+    }
+
+    Map.Entry<K, V> floorEntry(K key) {
+        N node = tree.root;
+        N best = null;
+        while (node != null) {
+            int cmp = key.compareTo(node.value);
+            if (cmp == 0) return entry(node);
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                best = node;
+                node = node.right;
+            }
+        }
+        return entry(best);
+    }
+
+    Map.Entry<K, V> ceilingEntry(K key) {
+        N node = tree.root;
+        N best = null;
+        while (node != null) {
+            int cmp = key.compareTo(node.value);
+            if (cmp == 0) return entry(node);
+            if (cmp > 0) {
+                node = node.right;
+            } else {
+                best = node;
+                node = node.left;
+            }
+        }
+        return entry(best);
+    }
+
+    Iterable<Map.Entry<K, V>> entries() {
+        return () -> new Iterator<Map.Entry<K, V>>() {
+            private final Deque<N> path = new ArrayDeque<>();
+
+            {
+                pushLeft(tree.root);
+            }
+
+            private void pushLeft(N node) {
+                for (; node != null; node = node.left) path.push(node);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public Map.Entry<K, V> next() {
+                if (path.isEmpty()) throw new NoSuchElementException();
+                N node = path.pop();
+                pushLeft(node.right);
+                return entry(node);
+            }
+        };
+    }
+
+    private Map.Entry<K, V> entry(N node) {
+        return node == null ? null : new AbstractMap.SimpleImmutableEntry<>(node.value, payload(node).getPayload());
+    }
+
+    // carries the value along when the engine moves a successor's key into another node
+    void moveValue(N from, N to) {
+        payload(to).setPayload(payload(from).getPayload());
+    }
+}
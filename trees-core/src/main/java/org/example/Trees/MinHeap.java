@@ -0,0 +1,90 @@
+package org.example.Trees;
+//Author: Kaitlyn Self
+
+import java.io.Serializable;
+
+/**
+ *  This class serves to implement the Minimum Heap requirements.
+ *  @param <T>
+ *  @author Athlie54
+ */
+public class MinHeap<T extends Comparable<T>> extends Heap<T> implements Serializable {
+    public MinHeap() {
+        super();
+    }
+
+    /**
+     *  Creates a bounded MinHeap holding at most capacity elements,
+     *  which keeps the capacity largest values offered to it.
+     *
+     *  @param capacity The maximum number of elements kept
+     */
+    public MinHeap(int capacity) {
+        super(capacity);
+    }
+
+    @Override
+    public T first() {
+        return peek();
+    }
+
+    @Override
+    public String type() {
+        return "Minimum Heap";
+    }
+
+    /**
+     *  An iterative function which inserts a new element by comparing
+     *  the new element to its parents and moving each parent down
+     *  into the gap until the element's place is found.
+     *
+     *  @param index The index of the node being sorted
+     *  @author Athlie54
+     */
+    protected void heapifyUp(int index) {
+        T value = heap.get(index);
+        while (index > 0) {
+            int parent = getParentIndex(index);
+            T parentValue = heap.get(parent);
+            if (value.compareTo(parentValue) >= 0) break;
+            heap.set(index, parentValue);
+            index = parent;
+        }
+        heap.set(index, value);
+    }
+
+    @Override
+    protected boolean higherPriority(T a, T b) {
+        return a.compareTo(b) < 0;
+    }
+
+    /**
+     *  An iterative function which moves an element down by comparing
+     *  it to the smallest of its children and moving that child up
+     *  into the gap, until the element reaches a leaf or is in place.
+     *
+     *  @param index The index of the node being moved
+     *  @param size The number of elements that are part of the heap
+     *  @author Athlie54
+     */
+    protected void heapifyDown(int index, int size) {
+        T value = heap.get(index);
+        int child = getLeftChildIndex(index);
+        while (child < size) {
+            T childValue = heap.get(child);
+            int right = child + 1;
+            if (right < size) {
+                T rightValue = heap.get(right);
+                if (rightValue.compareTo(childValue) < 0) {
+                    child = right;
+                    childValue = rightValue;
+                }
+            }
+            if (childValue.compareTo(value) >= 0) break;
+            heap.set(index, childValue);
+            index = child;
+            child = getLeftChildIndex(index);
+        }
+        heap.set(index, value);
+    }
+}
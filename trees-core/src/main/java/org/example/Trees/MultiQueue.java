@@ -0,0 +1,141 @@
+package org.example.Trees;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Relaxed concurrent priority queue made of several MinHeap shards, each
+ * behind its own lock. offer() puts the value into a random shard and poll()
+ * compares the smallest values of two random shards and takes the better one.
+ * Locks are tried first: a thread that finds a shard busy picks other
+ * shards instead of waiting, and only blocks once several have been busy,
+ * so threads rarely block each other.
+ * poll() does not always return the smallest value. With m shards the
+ * expected rank of a polled value among all queued values is O(m), and it
+ * is O(m log m) with high probability (the two-choice MultiQueue bound of
+ * Rihani, Sanders and Dementiev); about two shards per thread is a good size.
+ * @param <T> the type of value stored in the queue
+ */
+public class MultiQueue<T extends Comparable<T>> {
+    // shard scans a poll may try before scanning every shard in turn
+    private static final int POLL_ATTEMPTS = 8;
+    // busy shards an offer may try before waiting for a lock
+    private static final int OFFER_ATTEMPTS = 4;
+
+    private final MinHeap<T>[] shards;
+    private final ReentrantLock[] locks;
+    // the root of every shard, readable without its lock; null when empty
+    private final AtomicReferenceArray<T> tops;
+    private final LongAdder size = new LongAdder();
+
+    /**
+     * Creates a queue with two shards per available processor.
+     */
+    public MultiQueue() {
+        this(2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param shardCount the number of heaps
+     * @throws IllegalArgumentException if shardCount is less than 1
+     */
+    @SuppressWarnings("unchecked")
+    public MultiQueue(int shardCount) {
+        if (shardCount < 1) throw new IllegalArgumentException("Shard count must be at least 1: " + shardCount);
+        shards = (MinHeap<T>[]) new MinHeap<?>[shardCount];
+        locks = new ReentrantLock[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new MinHeap<>();
+            locks[i] = new ReentrantLock();
+        }
+        tops = new AtomicReferenceArray<>(shardCount);
+    }
+
+    /**
+     * Adds value to a random shard whose lock is free. If the first few
+     * shards tried are all busy, it waits for the last one.
+     */
+    public void offer(T value) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i = random.nextInt(shards.length);
+        for (int attempt = 1; !locks[i].tryLock(); attempt++) {
+            if (attempt == OFFER_ATTEMPTS) {
+                // every shard tried was busy, so wait for the last one instead of spinning
+                locks[i].lock();
+                break;
+            }
+            i = random.nextInt(shards.length);
+        }
+        try {
+            // counted before it is visible, so a poll never sees size 0 while it is queued
+            size.increment();
+            shards[i].offer(value);
+            tops.set(i, shards[i].peek());
+        } finally {
+            locks[i].unlock();
+        }
+    }
+
+    /**
+     * Removes a value close to the smallest one, taken from the better of
+     * two random shards. If the queue keeps looking empty at random shards,
+     * every shard is checked in turn before giving up.
+     * @return the removed value, or null if the queue was found empty
+     */
+    public T poll() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int attempt = 0; attempt < POLL_ATTEMPTS; attempt++) {
+            int i = random.nextInt(shards.length);
+            int j = random.nextInt(shards.length);
+            T a = tops.get(i), b = tops.get(j);
+            if (a == null && b == null) {
+                if (size.sum() == 0) return null;
+                continue;
+            }
+            int best = (b == null || (a != null && a.compareTo(b) <= 0)) ? i : j;
+            if (!locks[best].tryLock()) continue;
+            T value = pollLocked(best);
+            if (value != null) return value;
+        }
+        for (int i = 0; i < shards.length; i++) {
+            if (tops.get(i) == null) continue;
+            locks[i].lock();
+            T value = pollLocked(i);
+            if (value != null) return value;
+        }
+        return null;
+    }
+
+    // polls shard i, whose lock the caller holds, and releases the lock
+    private T pollLocked(int i) {
+        T value;
+        try {
+            value = shards[i].poll();
+            tops.set(i, shards[i].peek());
+        } finally {
+            locks[i].unlock();
+        }
+        if (value != null) size.decrement();
+        return value;
+    }
+
+    /**
+     * @return the number of queued values; exact only while no other thread is changing the queue
+     */
+    public int size() {
+        return (int) size.sum();
+    }
+
+    public boolean isEmpty() {
+        return size.sum() == 0;
+    }
+
+    /**
+     * @return the number of heaps the values are spread over
+     */
+    public int shardCount() {
+        return shards.length;
+    }
+}
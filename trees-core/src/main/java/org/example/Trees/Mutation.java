@@ -0,0 +1,52 @@
+package org.example.Trees;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * One insert or delete in a batch passed to Tree.applyBatch().
+ * @param <T> the type of value stored in the tree
+ */
+public final class Mutation<T extends Comparable<T>> implements Serializable {
+    private final boolean insert;
+    private final T value;
+
+    private Mutation(boolean insert, T value) {
+        if (value == null) throw new NullPointerException("value");
+        this.insert = insert;
+        this.value = value;
+    }
+
+    public static <T extends Comparable<T>> Mutation<T> insert(T value) {
+        return new Mutation<>(true, value);
+    }
+
+    public static <T extends Comparable<T>> Mutation<T> delete(T value) {
+        return new Mutation<>(false, value);
+    }
+
+    public boolean isInsert() {
+        return insert;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the values of ops are not in non-decreasing order
+     */
+    static <T extends Comparable<T>> void checkSorted(List<? extends Mutation<T>> ops) {
+        for (int i = 1; i < ops.size(); i++) {
+            T previous = ops.get(i - 1).getValue(), value = ops.get(i).getValue();
+            if (previous.compareTo(value) > 0) {
+                throw new IllegalArgumentException("Batch is not sorted at index " + i + ": " + value + " after " + previous);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return (insert ? "insert " : "delete ") + value;
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.Trees;
+
+import java.util.Arrays;
+
+/**
+ * Cursor over any tree whose TreeNode children are stored as plain references.
+ * The path from the root is kept in a reusable array, so moving down and back
+ * up is a pointer move and only allocates when the tree is deeper than ever
+ * seen before.
+ * @param <T> the type of value stored in the tree
+ */
+class NodeCursor<T extends Comparable<T>> implements TreeCursor<T> {
+    private final Tree<T> tree;
+    private TreeNode<T>[] path;
+    private int depth;
+
+    @SuppressWarnings("unchecked")
+    NodeCursor(Tree<T> tree) {
+        this.tree = tree;
+        this.path = (TreeNode<T>[]) new TreeNode<?>[32];
+        toRoot();
+    }
+
+    @Override
+    public boolean toRoot() {
+        path[0] = tree.getRoot();
+        depth = 0;
+        return path[0] != null;
+    }
+
+    @Override
+    public boolean toLeft() {
+        return push(path[depth].getLeft());
+    }
+
+    @Override
+    public boolean toRight() {
+        return push(path[depth].getRight());
+    }
+
+    private boolean push(TreeNode<T> child) {
+        if (child == null) return false;
+        if (++depth == path.length) {
+            path = Arrays.copyOf(path, path.length * 2);
+        }
+        path[depth] = child;
+        return true;
+    }
+
+    @Override
+    public boolean toParent() {
+        if (depth == 0) return false;
+        path[depth--] = null;
+        return true;
+    }
+
+    @Override
+    public boolean hasLeft() {
+        return path[depth].getLeft() != null;
+    }
+
+    @Override
+    public boolean hasRight() {
+        return path[depth].getRight() != null;
+    }
+
+    @Override
+    public int depth() {
+        return depth;
+    }
+
+    @Override
+    public T value() {
+        return path[depth].getValue();
+    }
+
+    @Override
+    public String color() {
+        return path[depth].getColor();
+    }
+}
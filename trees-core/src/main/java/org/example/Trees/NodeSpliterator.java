@@ -0,0 +1,100 @@
+package org.example.Trees;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over any tree whose TreeNodes are in search order. It covers
+ * an optional leading value followed by one whole subtree. A split hands
+ * the leading value and the left subtree to the new prefix and keeps the
+ * root's value and the right subtree, so parallel work is divided at
+ * subtree roots and nothing is copied. Subtree sizes are estimated by
+ * halving the tree size at every split, and parts estimated at GRAIN
+ * values or fewer are traversed sequentially.
+ * @param <T> the type of value stored in the tree
+ */
+final class NodeSpliterator<T> implements Spliterator<T> {
+    // parts this small are not split further
+    static final int GRAIN = 1 << 12;
+
+    // value to report before the subtree, or null
+    private T head;
+    private TreeNode<T> subtree;
+    private long estimate;
+    // pending nodes once tryAdvance has started an in-order walk, else null
+    private TreeNode<T>[] stack;
+    private int top;
+
+    NodeSpliterator(TreeNode<T> root, long size) {
+        this(null, root, size);
+    }
+
+    private NodeSpliterator(T head, TreeNode<T> subtree, long estimate) {
+        this.head = head;
+        this.subtree = subtree;
+        this.estimate = estimate;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        if (stack != null || subtree == null || estimate <= GRAIN) return null;
+        estimate >>>= 1;
+        Spliterator<T> prefix = new NodeSpliterator<>(head, subtree.getLeft(), estimate);
+        head = subtree.getValue();
+        subtree = subtree.getRight();
+        return prefix;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (head != null) {
+            T value = head;
+            head = null;
+            action.accept(value);
+            return true;
+        }
+        if (stack == null) {
+            @SuppressWarnings("unchecked")
+            TreeNode<T>[] nodes = (TreeNode<T>[]) new TreeNode<?>[32];
+            stack = nodes;
+            pushLeft(subtree);
+            subtree = null;
+        }
+        if (top == 0) return false;
+        TreeNode<T> node = stack[--top];
+        pushLeft(node.getRight());
+        action.accept(node.getValue());
+        return true;
+    }
+
+    private void pushLeft(TreeNode<T> node) {
+        for (; node != null; node = node.getLeft()) {
+            if (top == stack.length) stack = Arrays.copyOf(stack, top * 2);
+            stack[top++] = node;
+        }
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        while (tryAdvance(action)) {
+        }
+    }
+
+    @Override
+    public long estimateSize() {
+        return estimate;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SORTED | DISTINCT | NONNULL;
+    }
+
+    // null: the values are in their natural order
+    @Override
+    public Comparator<? super T> getComparator() {
+        return null;
+    }
+}
@@ -0,0 +1,443 @@
+package org.example.Trees;
+//Author: Evan Trejo
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * This class implements the Red-Black Tree.
+ * @param <T>
+ * @author EvanTrejo
+ */
+public class RedBlackTree<T extends Comparable<T>> extends AbstractBinarySearchTree<T, RedBlackTree.Node<T>> {
+
+    private enum NodeColor {
+        RED, BLACK
+    }
+
+    static class Node<T> extends BinaryNode<T, Node<T>> {
+        Node<T> parent;
+        NodeColor color;
+
+        Node(T value, NodeColor color, Node<T> parent) {
+            super(value);
+            this.color = color;
+            this.parent = parent;
+        }
+
+        // a red node, as the engine attaches below parent
+        Node(T value, Node<T> parent) {
+            this(value, NodeColor.RED, parent);
+        }
+
+        //Handle node colors based on function in TreeVisualizer
+        public String getColor() { 
+            if(color == NodeColor.RED) return "RED";
+            else return "BLACK"; 
+        }
+    }
+
+    public RedBlackTree() {
+    }
+
+    /**
+     * Creates a Red-Black Tree which keeps the given summary of every
+     * subtree, so that aggregate() can answer range queries in O(log n).
+     * @param augmentation the monoid used to summarize values
+     */
+    public RedBlackTree(Augmentation<? super T, ?> augmentation) {
+        super(augmentation, false);
+    }
+
+    /**
+     * Repairs the tree after the engine unlinked a node. Deleting a value with
+     * two children moves its inorder successor's value into its node and unlinks
+     * the successor instead, so removed has at most one child.
+     * @param removed the node which was unlinked
+     * @param child the child of removed which took its place, possibly null
+     * @author EvanTrejo
+     */
+    @Override
+    protected void afterDelete(Node<T> removed, Node<T> child, int depth) {
+        Node<T> parent = removed.parent;
+        if (child != null) child.parent = parent;
+        // The removed node's ancestors (including the one that took over its value) lost a value
+        if (augmentation != null) updateAggregates(parent);
+
+        // If a black node was removed, we need to fix the red-black tree properties
+        if (removed.color == NodeColor.BLACK) {
+            fixDelete(child, parent, depth - 1);
+        }
+    }
+
+    /**
+     * Fixes the Red-Black Tree properties after deletion
+     * to maintain balance and color properties.
+     * @param node the node which replaced the deleted node, possibly null
+     * @param parent the parent of node, needed when node is null
+     * @param level the depth of parent, to report rotations to the engine
+     * @author EvanTrejo
+     */
+    private void fixDelete(Node<T> node, Node<T> parent, int level) {
+        // The replacing node carries an extra black; push it up until it can be absorbed
+        while (node != root && (node == null || node.color == NodeColor.BLACK)) {
+            if (node == parent.left) {
+                Node<T> sibling = parent.right;
+                if (sibling.color == NodeColor.RED) {
+                    sibling.color = NodeColor.BLACK;
+                    parent.color = NodeColor.RED;
+                    leftRotate(parent);
+                    restructured(level++);
+                    sibling = parent.right;
+                }
+
+                if ((sibling.left == null || sibling.left.color == NodeColor.BLACK) &&
+                    (sibling.right == null || sibling.right.color == NodeColor.BLACK)) {
+                    sibling.color = NodeColor.RED;
+                    node = parent;
+                    parent = node.parent;
+                    level--;
+                } else {
+                    if (sibling.right == null || sibling.right.color == NodeColor.BLACK) {
+                        sibling.left.color = NodeColor.BLACK;
+                        sibling.color = NodeColor.RED;
+                        rightRotate(sibling);
+                        sibling = parent.right;
+                    }
+
+                    sibling.color = parent.color;
+                    parent.color = NodeColor.BLACK;
+                    if (sibling.right != null) sibling.right.color = NodeColor.BLACK;
+                    leftRotate(parent);
+                    restructured(level);
+                    node = root;
+                }
+            } else {
+                Node<T> sibling = parent.left;
+                if (sibling.color == NodeColor.RED) {
+                    sibling.color = NodeColor.BLACK;
+                    parent.color = NodeColor.RED;
+                    rightRotate(parent);
+                    restructured(level++);
+                    sibling = parent.left;
+                }
+
+                if ((sibling.left == null || sibling.left.color == NodeColor.BLACK) &&
+                    (sibling.right == null || sibling.right.color == NodeColor.BLACK)) {
+                    sibling.color = NodeColor.RED;
+                    node = parent;
+                    parent = node.parent;
+                    level--;
+                } else {
+                    if (sibling.left == null || sibling.left.color == NodeColor.BLACK) {
+                        sibling.right.color = NodeColor.BLACK;
+                        sibling.color = NodeColor.RED;
+                        leftRotate(sibling);
+                        sibling = parent.left;
+                    }
+
+                    sibling.color = parent.color;
+                    parent.color = NodeColor.BLACK;
+                    if (sibling.left != null) sibling.left.color = NodeColor.BLACK;
+                    rightRotate(parent);
+                    restructured(level);
+                    node = root;
+                }
+            }
+        }
+
+        if (node != null) node.color = NodeColor.BLACK;
+    }
+
+    /**
+     * Finds the node with the minimum value in a subtree.
+     * @param node the starting node for the search
+     * @return the node with the smallest value
+     * @author EvanTrejo
+     */
+    private Node<T> minValueNode(Node<T> node) {
+        // Get the node with the minimum value (leftmost)
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node;
+    }
+
+
+    @Override
+    protected Node<T> newNode(T value, Node<T> parent) {
+        return new Node<>(value, parent);
+    }
+
+    /**
+     * Restores the Red-Black properties after the engine attached a new red
+     * leaf, which already points to its parent.
+     * @param node the inserted node
+     * @author EvanTrejo
+     */
+    @Override
+    protected void afterInsert(Node<T> node, int depth) {
+        if (augmentation != null) updateAggregates(node);
+        fixInsert(node, depth);
+    }
+
+    /**
+     * Colors a built tree: only the last level, below the root, is red.
+     * Every other level is complete, so every path to a leaf passes the
+     * same number of black nodes.
+     */
+    @Override
+    protected void afterBuild(Node<T> node, int level, int deepest) {
+        node.color = level == deepest && level > 0 ? NodeColor.RED : NodeColor.BLACK;
+        if (augmentation != null) updateAggregate(node);
+    }
+
+    @Override
+    protected void afterUpdate(Node<T> node, int depth) {
+        if (augmentation != null) updateAggregates(node);
+    }
+
+    /**
+     * Fixes the Red-Black Tree properties after insertion.
+     * @param node the inserted node
+     * @param level the depth of node, to report rotations to the engine
+     * @author EvanTrejo
+     */
+    private void fixInsert(Node<T> node, int level) {
+        while (node.parent != null && node.parent.color == NodeColor.RED) {
+            if (node.parent == node.parent.parent.left) {
+                Node<T> uncle = node.parent.parent.right;
+                if (uncle != null && uncle.color == NodeColor.RED) {
+                    node.parent.color = NodeColor.BLACK;
+                    uncle.color = NodeColor.BLACK;
+                    node.parent.parent.color = NodeColor.RED;
+                    node = node.parent.parent;
+                    level -= 2;
+                } else {
+                    if (node == node.parent.right) {
+                        node = node.parent;
+                        leftRotate(node);
+                    }
+                    node.parent.color = NodeColor.BLACK;
+                    node.parent.parent.color = NodeColor.RED;
+                    rightRotate(node.parent.parent);
+                    restructured(level - 2);
+                }
+            } else {
+                Node<T> uncle = node.parent.parent.left;
+                if (uncle != null && uncle.color == NodeColor.RED) {
+                    node.parent.color = NodeColor.BLACK;
+                    uncle.color = NodeColor.BLACK;
+                    node.parent.parent.color = NodeColor.RED;
+                    node = node.parent.parent;
+                    level -= 2;
+                } else {
+                    if (node == node.parent.left) {
+                        node = node.parent;
+                        rightRotate(node);
+                    }
+                    node.parent.color = NodeColor.BLACK;
+                    node.parent.parent.color = NodeColor.RED;
+                    leftRotate(node.parent.parent);
+                    restructured(level - 2);
+                }
+            }
+        }
+        root.color = NodeColor.BLACK;
+    }
+
+    /**
+     * Performs a left rotation on the given node.
+     * @param node the node to rotate
+     * @author EvanTrejo
+     */
+    private void leftRotate(Node<T> node) {
+        Node<T> temp = node.right;
+        node.right = temp.left;
+        if (temp.left != null) temp.left.parent = node;
+        temp.parent = node.parent;
+        if (node.parent == null) root = temp;
+        else if (node == node.parent.left) node.parent.left = temp;
+        else node.parent.right = temp;
+        temp.left = node;
+        node.parent = temp;
+        // only the two rotated nodes changed subtrees
+        if (augmentation != null) {
+            updateAggregate(node);
+            updateAggregate(temp);
+        }
+    }
+
+    /**
+     * Performs a right rotation on the given node.
+     * @param node the node to rotate
+     * @author EvanTrejo
+     */
+    private void rightRotate(Node<T> node) {
+        Node<T> temp = node.left;
+        node.left = temp.right;
+        if (temp.right != null) temp.right.parent = node;
+        temp.parent = node.parent;
+        if (node.parent == null) root = temp;
+        else if (node == node.parent.right) node.parent.right = temp;
+        else node.parent.left = temp;
+        temp.right = node;
+        node.parent = temp;
+        if (augmentation != null) {
+            updateAggregate(node);
+            updateAggregate(temp);
+        }
+    }
+
+    /**
+     * Iterates the values in [from, to) lazily by walking from each node to
+     * its successor through the parent pointers, so no stack is kept.
+     * @param from the lowest value included, or null for no lower bound
+     * @param to the first value excluded, or null for no upper bound
+     * @author EvanTrejo
+     */
+    @Override
+    public Iterable<T> subRange(T from, T to) {
+        return () -> new Iterator<T>() {
+            private Node<T> next = (from != null) ? ceilingNode(from) : (root != null) ? minValueNode(root) : null;
+
+            @Override
+            public boolean hasNext() {
+                return next != null && (to == null || next.value.compareTo(to) < 0);
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                Node<T> node = next;
+                next = successor(node);
+                return node.value;
+            }
+        };
+    }
+
+    /**
+     * Lazily iterates in order over the values accepted by matches, skipping
+     * every subtree whose summary is rejected by mayContain and stopping at
+     * the first value for which pastEnd is true. Augmented subclasses use it
+     * for searches whose cost depends on the number of values returned.
+     * @param mayContain tests a subtree summary; false means no value below can match
+     * @param pastEnd true for values after the last one that can match
+     * @param matches tests a single value
+     * @param <A> the type of the summary
+     */
+    @SuppressWarnings("unchecked")
+    protected <A> Iterator<T> search(Predicate<? super A> mayContain, Predicate<? super T> pastEnd,
+                                     Predicate<? super T> matches) {
+        if (augmentation == null) throw new IllegalStateException("Tree is not augmented");
+        return new Iterator<T>() {
+            private final Deque<Node<T>> path = new ArrayDeque<>();
+            private T next;
+
+            {
+                pushLeft(root);
+                advance();
+            }
+
+            private void pushLeft(Node<T> node) {
+                for (; node != null && mayContain.test((A) node.aggregate); node = node.left) path.push(node);
+            }
+
+            private void advance() {
+                next = null;
+                while (!path.isEmpty()) {
+                    Node<T> node = path.pop();
+                    if (pastEnd.test(node.value)) {
+                        path.clear();
+                        return;
+                    }
+                    pushLeft(node.right);
+                    if (matches.test(node.value)) {
+                        next = node.value;
+                        return;
+                    }
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if (next == null) throw new NoSuchElementException();
+                T value = next;
+                advance();
+                return value;
+            }
+        };
+    }
+
+    /**
+     * Finds the node with the smallest value greater than or equal to value.
+     * @param value the lower bound
+     * @return the node, or null if every value is smaller
+     */
+    private Node<T> ceilingNode(T value) {
+        Node<T> node = root;
+        Node<T> best = null;
+        while (node != null) {
+            int cmp = value.compareTo(node.value);
+            if (cmp == 0) return node;
+            if (cmp < 0) {
+                best = node;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Finds the next node in order using the parent pointers.
+     * @param node the current node
+     * @return the node holding the next larger value, or null
+     */
+    private Node<T> successor(Node<T> node) {
+        if (node.right != null) return minValueNode(node.right);
+        Node<T> parent = node.parent;
+        while (parent != null && node == parent.right) {
+            node = parent;
+            parent = parent.parent;
+        }
+        return parent;
+    }
+
+    /**
+     * Combines the values in [from, to) with the tree's augmentation in
+     * O(log n), using the summaries kept in the nodes along two paths.
+     * @param augmentation the augmentation this tree was created with
+     * @param from the lowest value included, or null for no lower bound
+     * @param to the first value excluded, or null for no upper bound
+     * @return the combined summary, or the identity if the range is empty
+     * @throws IllegalArgumentException if this tree is not augmented with augmentation
+     */
+    public <A> A aggregate(Augmentation<? super T, A> augmentation, T from, T to) {
+        return aggregateRange(augmentation, from, to);
+    }
+
+    // recomputes the summaries from node up to the root
+    private void updateAggregates(Node<T> node) {
+        for (; node != null; node = node.parent) {
+            updateAggregate(node);
+        }
+    }
+
+    @Override
+    public String type() {
+        return "RBT";
+    }
+    @Override
+    public TreeNode<T> getRoot() {
+        return root;
+    }
+}
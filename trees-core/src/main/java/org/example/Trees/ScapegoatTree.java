@@ -0,0 +1,159 @@
+package org.example.Trees;
+
+import java.util.Arrays;
+
+/**
+ * Scapegoat tree (Galperin and Rivest). Nodes hold only a value and two
+ * child links; balance is restored by rebuilding whole subtrees instead of
+ * keeping a height or color per node. When an insert lands deeper than
+ * log_{1/alpha}(size), the lowest ancestor whose child holds more than
+ * alpha of its subtree is rebuilt perfectly balanced, and when deletes
+ * shrink the tree below alpha of its largest size since the last full
+ * rebuild, the whole tree is rebuilt. Both cost linear time in the subtree
+ * but amortize to O(log n) per update, and lookups stay O(log n) worst case.
+ * A smaller alpha keeps the tree closer to balanced at the price of more
+ * rebuilds.
+ * @param <T> the type of value stored in the tree
+ */
+public class ScapegoatTree<T extends Comparable<T>> extends AbstractBinarySearchTree<T, ScapegoatTree.Node<T>> {
+    public static final double DEFAULT_ALPHA = 2.0 / 3;
+
+    private final double alpha;
+    // 1 / ln(1 / alpha), to turn ln(size) into the allowed depth
+    private final double depthFactor;
+    // largest size since the whole tree was last rebuilt
+    private int maxSize;
+    private transient Object[] rebuildBuffer;
+
+    static final class Node<T> extends BinaryNode<T, Node<T>> {
+        Node(T value) {
+            super(value);
+        }
+    }
+
+    public ScapegoatTree() {
+        this(DEFAULT_ALPHA);
+    }
+
+    /**
+     * @param alpha the weight balance each subtree must keep, in [0.5, 1)
+     * @throws IllegalArgumentException if alpha is outside that range
+     */
+    public ScapegoatTree(double alpha) {
+        if (!(alpha >= 0.5 && alpha < 1)) throw new IllegalArgumentException("Alpha must be in [0.5, 1): " + alpha);
+        this.alpha = alpha;
+        this.depthFactor = 1 / Math.log(1 / alpha);
+    }
+
+    public double getAlpha() {
+        return alpha;
+    }
+
+    @Override
+    protected Node<T> newNode(T value, Node<T> parent) {
+        return new Node<>(value);
+    }
+
+    @Override
+    protected void afterInsert(Node<T> node, int depth) {
+        if (size > maxSize) maxSize = size;
+        if (depth <= Math.log(size) * depthFactor) return;
+
+        // climb until a child outweighs alpha of its parent's subtree
+        Node<T> child = node;
+        int childSize = 1;
+        for (int i = depth - 1; i >= 0; i--) {
+            Node<T> parent = ancestor(i);
+            int parentSize = childSize + 1 + sizeOf(parent.left == child ? parent.right : parent.left);
+            if (childSize > alpha * parentSize) {
+                replaceChild(i == 0 ? null : ancestor(i - 1), parent, rebuild(parent, parentSize));
+                restructured(i);
+                return;
+            }
+            child = parent;
+            childSize = parentSize;
+        }
+    }
+
+    @Override
+    protected void afterDelete(Node<T> removed, Node<T> child, int depth) {
+        if (size < alpha * maxSize) {
+            root = rebuild(root, size);
+            maxSize = size;
+            restructured(0);
+        }
+    }
+
+    @Override
+    protected void afterBuild(Node<T> node, int level, int deepest) {
+        if (level == 0) maxSize = size;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        maxSize = 0;
+        rebuildBuffer = null;
+    }
+
+    private static int sizeOf(Node<?> node) {
+        int count = 0;
+        Node<?>[] stack = new Node<?>[64];
+        int top = 0;
+        while (node != null || top > 0) {
+            for (; node != null; node = node.left) {
+                if (top == stack.length) stack = Arrays.copyOf(stack, top * 2);
+                stack[top++] = node;
+            }
+            node = stack[--top];
+            count++;
+            node = node.right;
+        }
+        return count;
+    }
+
+    /**
+     * Relinks the nodes of a subtree into a perfectly balanced one. The
+     * nodes are reused, so a rebuild allocates nothing once the buffer has
+     * grown to the largest subtree seen.
+     * @param subtreeSize the number of nodes under subtree
+     * @return the root of the rebuilt subtree
+     */
+    @SuppressWarnings("unchecked")
+    private Node<T> rebuild(Node<T> subtree, int subtreeSize) {
+        if (rebuildBuffer == null || rebuildBuffer.length < subtreeSize) {
+            rebuildBuffer = new Object[Math.max(subtreeSize, 16)];
+        }
+        Object[] nodes = rebuildBuffer;
+        // in-order flatten, threading the stack through the buffer's unused tail
+        int count = 0, top = nodes.length, lowest = top;
+        Node<T> node = subtree;
+        while (node != null || top < nodes.length) {
+            for (; node != null; node = node.left) nodes[--top] = node;
+            lowest = Math.min(lowest, top);
+            node = (Node<T>) nodes[top++];
+            Node<T> right = node.right;
+            nodes[count++] = node;
+            node = right;
+        }
+        Node<T> built = build(nodes, 0, count);
+        Arrays.fill(nodes, 0, count, null);
+        Arrays.fill(nodes, lowest, nodes.length, null);
+        return built;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Node<T> build(Object[] nodes, int from, int to) {
+        if (from >= to) return null;
+        int mid = (from + to) >>> 1;
+        Node<T> node = (Node<T>) nodes[mid];
+        node.left = build(nodes, from, mid);
+        node.right = build(nodes, mid + 1, to);
+        return node;
+    }
+
+    @Override
+    public String type() {
+        return "Scapegoat Tree";
+    }
+}
@@ -0,0 +1,444 @@
+package org.example.Trees;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Thread-safe tree that spreads its values over several inner trees, each
+ * guarded by its own lock, so writers to different shards do not contend.
+ * Values are assigned to shards by hash, or by range when split points are
+ * given; range sharding keeps each shard a contiguous key range, which makes
+ * ordered iteration a concatenation instead of a merge.
+ * The size is kept in a LongAdder, whose striped cells avoid a shared
+ * counter between threads.
+ * Ordered queries lock one shard at a time, so they do not see the whole
+ * tree at a single point; iteration is weakly consistent, see subRange().
+ * @param <T> the type of value stored in the tree
+ */
+public class ShardedTree<T extends Comparable<T>> implements Tree<T> {
+    // values an ordered iteration reads from a shard per lock
+    private static final int CHUNK = 256;
+
+    private final Tree<T>[] shards;
+    private final ReentrantLock[] locks;
+    // upper bounds of the shards but the last when range sharded, else null
+    private final T[] splits;
+    private final LongAdder size = new LongAdder();
+
+    /**
+     * Creates a hash-sharded tree.
+     * @param shardCount the number of inner trees
+     * @param factory creates each inner tree, e.g. AVLTree::new
+     * @throws IllegalArgumentException if shardCount is less than 1
+     */
+    public ShardedTree(int shardCount, Supplier<? extends Tree<T>> factory) {
+        this(shardCount, factory, null);
+    }
+
+    /**
+     * Creates a range-sharded tree with one more shard than there are split
+     * points. Shard i holds the values below splits[i] that are not in an
+     * earlier shard.
+     * @param splits the shard boundaries in increasing order
+     * @param factory creates each inner tree, e.g. RedBlackTree::new
+     * @throws IllegalArgumentException if the split points are not increasing
+     */
+    public ShardedTree(List<T> splits, Supplier<? extends Tree<T>> factory) {
+        this(splits.size() + 1, factory, checkSplits(splits));
+    }
+
+    @SuppressWarnings("unchecked")
+    private ShardedTree(int shardCount, Supplier<? extends Tree<T>> factory, T[] splits) {
+        if (shardCount < 1) throw new IllegalArgumentException("Shard count must be at least 1: " + shardCount);
+        this.shards = (Tree<T>[]) new Tree<?>[shardCount];
+        this.locks = new ReentrantLock[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = factory.get();
+            locks[i] = new ReentrantLock();
+        }
+        this.splits = splits;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<T>> T[] checkSplits(List<T> splits) {
+        for (int i = 1; i < splits.size(); i++) {
+            if (splits.get(i - 1).compareTo(splits.get(i)) >= 0) {
+                throw new IllegalArgumentException("Split points must be increasing: " + splits);
+            }
+        }
+        return (T[]) splits.toArray(new Comparable<?>[0]);
+    }
+
+    private int shardOf(T value) {
+        if (splits == null) {
+            int h = value.hashCode();
+            return Math.floorMod(h ^ (h >>> 16), shards.length);
+        }
+        // first split point above value
+        int lo = 0, hi = splits.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (value.compareTo(splits[mid]) < 0) hi = mid;
+            else lo = mid + 1;
+        }
+        return lo;
+    }
+
+    /**
+     * @return the number of inner trees
+     */
+    public int shardCount() {
+        return shards.length;
+    }
+
+    @Override
+    public void insert(T value) {
+        insertIfAbsent(value);
+    }
+
+    @Override
+    public boolean insertIfAbsent(T value) {
+        int i = shardOf(value);
+        locks[i].lock();
+        try {
+            if (!shards[i].insertIfAbsent(value)) return false;
+        } finally {
+            locks[i].unlock();
+        }
+        size.increment();
+        return true;
+    }
+
+    /**
+     * Inserts all values, grouping them by shard first and then filling
+     * the shards in parallel, each under its own lock.
+     * @return the number of values that were not already present
+     */
+    public int insertAll(Collection<? extends T> values) {
+        List<List<T>> batches = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) batches.add(new ArrayList<>());
+        for (T value : values) batches.get(shardOf(value)).add(value);
+
+        return IntStream.range(0, shards.length).parallel().map(i -> {
+            List<T> batch = batches.get(i);
+            if (batch.isEmpty()) return 0;
+            int inserted = 0;
+            locks[i].lock();
+            try {
+                for (T value : batch) {
+                    if (shards[i].insertIfAbsent(value)) inserted++;
+                }
+            } finally {
+                locks[i].unlock();
+            }
+            size.add(inserted);
+            return inserted;
+        }).sum();
+    }
+
+    @Override
+    public T computeIfAbsent(T key, Function<? super T, ? extends T> mapping) {
+        int i = shardOf(key);
+        locks[i].lock();
+        try {
+            int before = shards[i].size();
+            T value = shards[i].computeIfAbsent(key, mapping);
+            if (shards[i].size() > before) size.increment();
+            return value;
+        } finally {
+            locks[i].unlock();
+        }
+    }
+
+    @Override
+    public T upsert(T value, BinaryOperator<T> remapping) {
+        int i = shardOf(value);
+        locks[i].lock();
+        try {
+            int before = shards[i].size();
+            T result = shards[i].upsert(value, remapping);
+            if (shards[i].size() > before) size.increment();
+            return result;
+        } finally {
+            locks[i].unlock();
+        }
+    }
+
+    @Override
+    public boolean delete(T value) {
+        return deleteAndGet(value) != null;
+    }
+
+    @Override
+    public T deleteAndGet(T value) {
+        int i = shardOf(value);
+        T removed;
+        locks[i].lock();
+        try {
+            removed = shards[i].deleteAndGet(value);
+        } finally {
+            locks[i].unlock();
+        }
+        if (removed != null) size.decrement();
+        return removed;
+    }
+
+    @Override
+    public boolean contains(T value) {
+        int i = shardOf(value);
+        locks[i].lock();
+        try {
+            return shards[i].contains(value);
+        } finally {
+            locks[i].unlock();
+        }
+    }
+
+    /**
+     * Empties every shard. The shard locks are taken in index order.
+     */
+    @Override
+    public void clear() {
+        for (ReentrantLock lock : locks) lock.lock();
+        try {
+            for (Tree<T> shard : shards) shard.clear();
+            size.reset();
+        } finally {
+            for (ReentrantLock lock : locks) lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return (int) size.sum();
+    }
+
+    @Override
+    public List<T> inorderTraversal() {
+        List<T> result = new ArrayList<>(size());
+        for (T value : subRange(null, null)) result.add(value);
+        return result;
+    }
+
+    /**
+     * Returns the values in [from, to) in order, read lazily: each shard is
+     * read in chunks of up to CHUNK values under its lock, so an iteration
+     * holds a chunk per shard rather than the whole range, and stopping
+     * early reads little more than was returned. Range shards outside the
+     * bounds are skipped, and hash shards are merged as they are read.
+     * The view is weakly consistent: every value is returned once and in
+     * order, values present for the whole iteration are all returned, and
+     * changes made meanwhile may or may not show.
+     */
+    @Override
+    public Iterable<T> subRange(T from, T to) {
+        return () -> {
+            int lo = 0, hi = shards.length - 1;
+            if (splits != null) {
+                if (from != null) lo = shardOf(from);
+                if (to != null) hi = shardOf(to);
+            }
+            List<Iterator<T>> parts = new ArrayList<>();
+            for (int i = lo; i <= hi; i++) parts.add(new ShardIterator(i, from, to));
+            return splits != null ? concat(parts) : merge(parts);
+        };
+    }
+
+    // Reads one shard in chunks, each under the shard's lock. Every chunk
+    // resumes after the last value read, so changes between chunks cannot
+    // make it repeat a value or go back.
+    private final class ShardIterator implements Iterator<T> {
+        private final int shard;
+        private final T to;
+        private final List<T> chunk = new ArrayList<>();
+        private int next;
+        // lower bound of the next chunk: from, then the last value read
+        private T resume;
+        // whether resume itself may be read, true only before the first chunk
+        private boolean inclusive = true;
+        private boolean exhausted;
+
+        ShardIterator(int shard, T from, T to) {
+            this.shard = shard;
+            this.resume = from;
+            this.to = to;
+        }
+
+        private void read() {
+            chunk.clear();
+            next = 0;
+            locks[shard].lock();
+            try {
+                for (T value : shards[shard].subRange(resume, to)) {
+                    if (!inclusive && value.compareTo(resume) == 0) continue;
+                    chunk.add(value);
+                    if (chunk.size() == CHUNK) break;
+                }
+            } finally {
+                locks[shard].unlock();
+            }
+            if (chunk.size() < CHUNK) exhausted = true;
+            if (!chunk.isEmpty()) {
+                resume = chunk.get(chunk.size() - 1);
+                inclusive = false;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == chunk.size() && !exhausted) read();
+            return next < chunk.size();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return chunk.get(next++);
+        }
+    }
+
+    private Iterator<T> concat(List<Iterator<T>> parts) {
+        return new Iterator<T>() {
+            private int part;
+
+            @Override
+            public boolean hasNext() {
+                while (part < parts.size() && !parts.get(part).hasNext()) part++;
+                return part < parts.size();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return parts.get(part).next();
+            }
+        };
+    }
+
+    // k-way merge of sorted iterators, keyed by each one's next value
+    private Iterator<T> merge(List<Iterator<T>> parts) {
+        class Head {
+            final T value;
+            final Iterator<T> rest;
+
+            Head(T value, Iterator<T> rest) {
+                this.value = value;
+                this.rest = rest;
+            }
+        }
+        PriorityQueue<Head> heads = new PriorityQueue<>(Math.max(1, parts.size()), (a, b) -> a.value.compareTo(b.value));
+        for (Iterator<T> part : parts) {
+            if (part.hasNext()) heads.add(new Head(part.next(), part));
+        }
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                Head head = heads.poll();
+                if (head == null) throw new NoSuchElementException();
+                if (head.rest.hasNext()) heads.add(new Head(head.rest.next(), head.rest));
+                return head.value;
+            }
+        };
+    }
+
+    // Navigation asks every shard, or only the ones that can hold the answer when range sharded
+
+    @Override
+    public T floor(T key) {
+        return below(key, true);
+    }
+
+    @Override
+    public T lower(T key) {
+        return below(key, false);
+    }
+
+    @Override
+    public T ceiling(T key) {
+        return above(key, true);
+    }
+
+    @Override
+    public T higher(T key) {
+        return above(key, false);
+    }
+
+    @Override
+    public T first() {
+        return above(null, true);
+    }
+
+    @Override
+    public T last() {
+        return below(null, true);
+    }
+
+    // greatest value below key, or the greatest of all when key is null
+    private T below(T key, boolean inclusive) {
+        T best = null;
+        int start = (splits != null && key != null) ? shardOf(key) : shards.length - 1;
+        for (int i = start; i >= 0; i--) {
+            T candidate;
+            locks[i].lock();
+            try {
+                candidate = key == null ? shards[i].last() : inclusive ? shards[i].floor(key) : shards[i].lower(key);
+            } finally {
+                locks[i].unlock();
+            }
+            if (candidate != null && (best == null || candidate.compareTo(best) > 0)) {
+                best = candidate;
+                if (splits != null) break;
+            }
+        }
+        return best;
+    }
+
+    // smallest value above key, or the smallest of all when key is null
+    private T above(T key, boolean inclusive) {
+        T best = null;
+        int start = (splits != null && key != null) ? shardOf(key) : 0;
+        for (int i = start; i < shards.length; i++) {
+            T candidate;
+            locks[i].lock();
+            try {
+                candidate = key == null ? shards[i].first() : inclusive ? shards[i].ceiling(key) : shards[i].higher(key);
+            } finally {
+                locks[i].unlock();
+            }
+            if (candidate != null && (best == null || candidate.compareTo(best) < 0)) {
+                best = candidate;
+                if (splits != null) break;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public String type() {
+        return "Sharded " + shards[0].type();
+    }
+
+    /**
+     * A sharded tree has no single root, so this returns null; the shards
+     * themselves are not exposed since they are guarded by the locks.
+     */
+    @Override
+    public TreeNode<T> getRoot() {
+        return null;
+    }
+}
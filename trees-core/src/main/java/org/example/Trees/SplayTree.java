@@ -0,0 +1,306 @@
+package org.example.Trees;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Self-adjusting binary search tree. Every access splays the key to the root
+ * top-down in a single pass, so recently and frequently used keys stay a few
+ * links from the root. All operations are iterative, since a splay tree may
+ * temporarily be as deep as it is large.
+ * In semi-splay mode lookups semi-splay instead (Sleator and Tarjan): going
+ * up the search path, a zig-zig step rotates only the parent over the
+ * grandparent and carries on from the parent, so a lookup roughly halves the
+ * depth of the nodes on its path rather than moving the key to the root, and
+ * read-mostly workloads restructure the tree less. Updates still splay fully.
+ * @param <T> the type of value stored in the tree
+ */
+public class SplayTree<T extends Comparable<T>> implements Tree<T>, Serializable {
+    private Node<T> root;
+    private int size;
+    private final boolean semiSplay;
+    // holds the left and right trees during a splay, reused by every splay
+    private transient Node<T> header;
+    // the search path of a semi-splay, reused by every lookup
+    private transient Node<T>[] path;
+
+    private static final class Node<T> implements TreeNode<T>, Serializable {
+        T value;
+        Node<T> left, right;
+
+        Node(T value) {
+            this.value = value;
+        }
+
+        @Override
+        public T getValue() { return value; }
+
+        @Override
+        public TreeNode<T> getLeft() { return left; }
+
+        @Override
+        public TreeNode<T> getRight() { return right; }
+
+        public String getColor() { return null; }
+    }
+
+    public SplayTree() {
+        this(false);
+    }
+
+    /**
+     * @param semiSplay true to semi-splay on lookups instead of splaying the key to the root
+     */
+    public SplayTree(boolean semiSplay) {
+        this.semiSplay = semiSplay;
+    }
+
+    /**
+     * Top-down splay: brings the node holding key, or the last node on its
+     * search path, to the top of the subtree t. Nodes passed on the way down
+     * are hung off a left and a right tree, which are joined at the end.
+     * @param t the subtree to splay, not null
+     * @param key the key to look for
+     * @return the new root of the subtree
+     */
+    private Node<T> splay(Node<T> t, T key) {
+        if (header == null) header = new Node<>(null);
+        Node<T> l = header, r = header;
+        while (true) {
+            int cmp = key.compareTo(t.value);
+            if (cmp < 0) {
+                if (t.left == null) break;
+                if (key.compareTo(t.left.value) < 0) {
+                    // zig-zig: rotate right before linking
+                    Node<T> y = t.left;
+                    t.left = y.right;
+                    y.right = t;
+                    t = y;
+                    if (t.left == null) break;
+                }
+                r.left = t;
+                r = t;
+                t = t.left;
+            } else if (cmp > 0) {
+                if (t.right == null) break;
+                if (key.compareTo(t.right.value) > 0) {
+                    Node<T> y = t.right;
+                    t.right = y.left;
+                    y.left = t;
+                    t = y;
+                    if (t.right == null) break;
+                }
+                l.right = t;
+                l = t;
+                t = t.right;
+            } else {
+                break;
+            }
+        }
+        l.right = t.left;
+        r.left = t.right;
+        t.left = header.right;
+        t.right = header.left;
+        header.left = header.right = null;
+        return t;
+    }
+
+    /**
+     * Bottom-up semi-splay of the last node on the search path of key.
+     * A zig-zig step rotates the parent over the grandparent and continues
+     * from the parent; a zig-zag step lifts the node over both and continues
+     * from it; a node left just below the root is rotated to the top.
+     * @param key the key to look for
+     * @return true if key was found
+     */
+    private boolean semiSplay(T key) {
+        if (path == null) {
+            @SuppressWarnings("unchecked")
+            Node<T>[] created = (Node<T>[]) new Node<?>[32];
+            path = created;
+        }
+        int depth = 0;
+        Node<T> node = root;
+        int cmp;
+        while (true) {
+            if (depth == path.length) path = Arrays.copyOf(path, depth * 2);
+            path[depth] = node;
+            cmp = key.compareTo(node.value);
+            Node<T> next = (cmp < 0) ? node.left : node.right;
+            if (cmp == 0 || next == null) break;
+            node = next;
+            depth++;
+        }
+        int i = depth;
+        while (i >= 2) {
+            Node<T> x = path[i], y = path[i - 1], z = path[i - 2];
+            Node<T> top;
+            if ((y.left == x) == (z.left == y)) {
+                // zig-zig: only the parent goes up
+                rotateUp(y, z);
+                top = y;
+            } else {
+                rotateUp(x, y);
+                if (z.left == y) z.left = x; else z.right = x;
+                rotateUp(x, z);
+                top = x;
+            }
+            replace(i >= 3 ? path[i - 3] : null, z, top);
+            path[i - 2] = top;
+            i -= 2;
+        }
+        if (i == 1) {
+            rotateUp(path[1], path[0]);
+            root = path[1];
+        }
+        Arrays.fill(path, 0, depth + 1, null);
+        return cmp == 0;
+    }
+
+    // rotates child x above its parent y
+    private static <T> void rotateUp(Node<T> x, Node<T> y) {
+        if (y.left == x) {
+            y.left = x.right;
+            x.right = y;
+        } else {
+            y.right = x.left;
+            x.left = y;
+        }
+    }
+
+    // links replacement where child hung under parent, or at the root
+    private void replace(Node<T> parent, Node<T> child, Node<T> replacement) {
+        if (parent == null) root = replacement;
+        else if (parent.left == child) parent.left = replacement;
+        else parent.right = replacement;
+    }
+
+    /**
+     * Splays key to the root and attaches a new node for it if it is absent.
+     * @param mapping creates the stored value when key is absent; null stores key itself
+     * @return true if a node was added
+     */
+    private boolean insert(T key, Function<? super T, ? extends T> mapping) {
+        if (root == null) {
+            root = new Node<>(mapping == null ? key : mapping.apply(key));
+            size++;
+            return true;
+        }
+        root = splay(root, key);
+        int cmp = key.compareTo(root.value);
+        if (cmp == 0) return false;
+        Node<T> node = new Node<>(mapping == null ? key : mapping.apply(key));
+        if (cmp < 0) {
+            node.left = root.left;
+            node.right = root;
+            root.left = null;
+        } else {
+            node.right = root.right;
+            node.left = root;
+            root.right = null;
+        }
+        root = node;
+        size++;
+        return true;
+    }
+
+    @Override
+    public void insert(T value) {
+        insertIfAbsent(value);
+    }
+
+    @Override
+    public boolean insertIfAbsent(T value) {
+        return insert(value, null);
+    }
+
+    @Override
+    public T computeIfAbsent(T key, Function<? super T, ? extends T> mapping) {
+        insert(key, mapping);
+        return root.value;
+    }
+
+    @Override
+    public T upsert(T value, BinaryOperator<T> remapping) {
+        if (!insert(value, null)) {
+            root.value = remapping.apply(root.value, value);
+        }
+        return root.value;
+    }
+
+    @Override
+    public boolean delete(T value) {
+        return deleteAndGet(value) != null;
+    }
+
+    /**
+     * Splays value to the root and replaces the root by the join of its
+     * subtrees: the largest value on the left is splayed up and takes the
+     * right subtree as its right child.
+     */
+    @Override
+    public T deleteAndGet(T value) {
+        if (root == null) return null;
+        root = splay(root, value);
+        if (value.compareTo(root.value) != 0) return null;
+        T removed = root.value;
+        if (root.left == null) {
+            root = root.right;
+        } else {
+            Node<T> right = root.right;
+            root = splay(root.left, value);
+            root.right = right;
+        }
+        size--;
+        return removed;
+    }
+
+    @Override
+    public boolean contains(T value) {
+        if (root == null) return false;
+        if (semiSplay) return semiSplay(value);
+        root = splay(root, value);
+        return value.compareTo(root.value) == 0;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public List<T> inorderTraversal() {
+        List<T> result = new ArrayList<>(size);
+        Deque<Node<T>> path = new ArrayDeque<>();
+        Node<T> node = root;
+        while (node != null || !path.isEmpty()) {
+            for (; node != null; node = node.left) path.push(node);
+            node = path.pop();
+            result.add(node.value);
+            node = node.right;
+        }
+        return result;
+    }
+
+    @Override
+    public String type() {
+        return "Splay Tree";
+    }
+
+    @Override
+    public TreeNode<T> getRoot() {
+        return root;
+    }
+}
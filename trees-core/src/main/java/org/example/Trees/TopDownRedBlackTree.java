@@ -0,0 +1,270 @@
+package org.example.Trees;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Red-Black Tree which rebalances on the way down, so insert and delete are a
+ * single iterative pass from the root and nodes need no parent pointer.
+ * Insert splits any node with two red children before passing it; delete
+ * pushes a red node down ahead of the search so the node finally removed is
+ * red. Both keep at most a grandparent, parent and child in hand and fix
+ * violations with the rotations below.
+ * @param <T> the type of value stored in the tree
+ */
+public class TopDownRedBlackTree<T extends Comparable<T>> implements Tree<T>, Serializable {
+    private static final int LEFT = 0;
+    private static final int RIGHT = 1;
+
+    private Node<T> root;
+    private int size;
+    // stands in for the root's parent during an insert or delete, reused by both
+    private transient Node<T> header;
+
+    private static final class Node<T> implements TreeNode<T>, Serializable {
+        T value;
+        Node<T> left, right;
+        boolean red;
+
+        Node(T value) {
+            this.value = value;
+            this.red = true;
+        }
+
+        Node<T> child(int dir) {
+            return dir == LEFT ? left : right;
+        }
+
+        void setChild(int dir, Node<T> node) {
+            if (dir == LEFT) left = node;
+            else right = node;
+        }
+
+        @Override
+        public T getValue() { return value; }
+
+        @Override
+        public TreeNode<T> getLeft() { return left; }
+
+        @Override
+        public TreeNode<T> getRight() { return right; }
+
+        public String getColor() { return red ? "RED" : "BLACK"; }
+    }
+
+    private static boolean isRed(Node<?> node) {
+        return node != null && node.red;
+    }
+
+    /**
+     * Rotates node's child on the side opposite to dir up into its place,
+     * making the old node red and the new subtree root black.
+     * @return the new subtree root
+     */
+    private static <T> Node<T> rotate(Node<T> node, int dir) {
+        Node<T> save = node.child(1 - dir);
+        node.setChild(1 - dir, save.child(dir));
+        save.setChild(dir, node);
+        node.red = true;
+        save.red = false;
+        return save;
+    }
+
+    private static <T> Node<T> doubleRotate(Node<T> node, int dir) {
+        node.setChild(1 - dir, rotate(node.child(1 - dir), 1 - dir));
+        return rotate(node, dir);
+    }
+
+    /**
+     * Finds key or adds a red leaf for it in one pass from the root. Nodes with
+     * two red children are recolored on the way down, and a red-red pair this
+     * creates is removed at once by rotating at the grandparent.
+     * @param mapping creates the stored value when key is absent; null stores key itself
+     * @return the node holding key after the call
+     */
+    private Node<T> insert(T key, Function<? super T, ? extends T> mapping) {
+        if (root == null) {
+            root = new Node<>(mapping == null ? key : mapping.apply(key));
+            root.red = false;
+            size++;
+            return root;
+        }
+        if (header == null) header = new Node<>(null);
+        Node<T> head = header;
+        Node<T> great = head, grand = null, parent = null, node = root;
+        head.right = root;
+        int dir = LEFT, last = LEFT;
+        while (true) {
+            if (node == null) {
+                node = new Node<>(mapping == null ? key : mapping.apply(key));
+                parent.setChild(dir, node);
+                size++;
+            } else if (isRed(node.left) && isRed(node.right)) {
+                node.red = true;
+                node.left.red = false;
+                node.right.red = false;
+            }
+            if (isRed(node) && isRed(parent)) {
+                int dir2 = great.right == grand ? RIGHT : LEFT;
+                if (node == parent.child(last)) great.setChild(dir2, rotate(grand, 1 - last));
+                else great.setChild(dir2, doubleRotate(grand, 1 - last));
+            }
+            int cmp = key.compareTo(node.value);
+            if (cmp == 0) break;
+            last = dir;
+            dir = cmp > 0 ? RIGHT : LEFT;
+            if (grand != null) great = grand;
+            grand = parent;
+            parent = node;
+            node = node.child(dir);
+        }
+        root = head.right;
+        root.red = false;
+        head.left = head.right = null;
+        return node;
+    }
+
+    @Override
+    public void insert(T value) {
+        insertIfAbsent(value);
+    }
+
+    @Override
+    public boolean insertIfAbsent(T value) {
+        int originalSize = size;
+        insert(value, null);
+        return size > originalSize;
+    }
+
+    @Override
+    public T computeIfAbsent(T key, Function<? super T, ? extends T> mapping) {
+        return insert(key, mapping).value;
+    }
+
+    @Override
+    public T upsert(T value, BinaryOperator<T> remapping) {
+        int originalSize = size;
+        Node<T> node = insert(value, null);
+        if (size == originalSize) node.value = remapping.apply(node.value, value);
+        return node.value;
+    }
+
+    @Override
+    public boolean delete(T value) {
+        return deleteAndGet(value) != null;
+    }
+
+    /**
+     * Removes value in one pass from the root. The search continues past the
+     * node holding value down to its inorder predecessor, making sure the
+     * current node is red before stepping below it. The predecessor, a red
+     * node with at most one child, is then unlinked and its value moved up.
+     * @return the value that was removed, or null if it was not found
+     */
+    @Override
+    public T deleteAndGet(T value) {
+        if (root == null) return null;
+        if (header == null) header = new Node<>(null);
+        Node<T> head = header;
+        Node<T> grand = null, parent = null, node = head, found = null;
+        head.right = root;
+        int dir = RIGHT;
+        while (node.child(dir) != null) {
+            int last = dir;
+            grand = parent;
+            parent = node;
+            node = node.child(dir);
+            int cmp = value.compareTo(node.value);
+            if (cmp == 0) found = node;
+            dir = cmp > 0 ? RIGHT : LEFT;
+
+            if (!isRed(node) && !isRed(node.child(dir))) {
+                if (isRed(node.child(1 - dir))) {
+                    parent.setChild(last, rotate(node, dir));
+                    parent = parent.child(last);
+                } else {
+                    Node<T> sibling = parent.child(1 - last);
+                    if (sibling != null) {
+                        if (!isRed(sibling.left) && !isRed(sibling.right)) {
+                            parent.red = false;
+                            sibling.red = true;
+                            node.red = true;
+                        } else {
+                            int dir2 = grand.right == parent ? RIGHT : LEFT;
+                            if (isRed(sibling.child(last))) grand.setChild(dir2, doubleRotate(parent, last));
+                            else grand.setChild(dir2, rotate(parent, last));
+                            Node<T> top = grand.child(dir2);
+                            node.red = true;
+                            top.red = true;
+                            top.left.red = false;
+                            top.right.red = false;
+                        }
+                    }
+                }
+            }
+        }
+
+        T removed = null;
+        if (found != null) {
+            removed = found.value;
+            found.value = node.value;
+            parent.setChild(parent.right == node ? RIGHT : LEFT, node.left == null ? node.right : node.left);
+            size--;
+        }
+        root = head.right;
+        if (root != null) root.red = false;
+        head.left = head.right = null;
+        return removed;
+    }
+
+    @Override
+    public boolean contains(T value) {
+        Node<T> node = root;
+        while (node != null) {
+            int cmp = value.compareTo(node.value);
+            if (cmp == 0) return true;
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public List<T> inorderTraversal() {
+        List<T> result = new ArrayList<>(size);
+        Deque<Node<T>> path = new ArrayDeque<>();
+        Node<T> node = root;
+        while (node != null || !path.isEmpty()) {
+            for (; node != null; node = node.left) path.push(node);
+            node = path.pop();
+            result.add(node.value);
+            node = node.right;
+        }
+        return result;
+    }
+
+    @Override
+    public String type() {
+        return "Top-Down RBT";
+    }
+
+    @Override
+    public TreeNode<T> getRoot() {
+        return root;
+    }
+}
@@ -0,0 +1,281 @@
+package org.example.Trees;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Wraps a tree and records which values changed since it was last saved,
+ * so that a KeyLog can append just those instead of rewriting the whole
+ * tree. Every change bumps a sequence number, and each changed value is
+ * kept with the sequence of its latest change, so a save taken at one
+ * sequence and acknowledged later does not forget values changed again in
+ * between. Only which values are present is tracked: a value replaced by
+ * an equal one is not a change. Marking too many values is harmless, as
+ * a save looks up the current state of each marked value.
+ * After clear() or a bulk load into an empty tree the next save is a full
+ * one, since most values would be marked anyway.
+ * @param <T> the type of value stored in the tree
+ */
+public final class TrackedTree<T extends Comparable<T>> implements Tree<T> {
+    private final Tree<T> tree;
+    // save history the tree belongs to, so a log never takes a delta from another tree
+    private long lineage;
+    private long sequence;
+    private long savedSequence;
+    // changed values and the sequence of their latest change
+    private final Map<T, Long> dirty = new HashMap<>();
+    // sequence of the last clear() or bulk load, or -1 if there was none since the last save
+    private long rebuiltAt = -1;
+
+    /**
+     * The state of the changed values at one sequence, taken by changes().
+     */
+    static final class Changes<T> {
+        final long lineage, from, to;
+        final boolean full;
+        // changed values that are present, then those that are absent, each sorted
+        final List<T> present, absent;
+
+        private Changes(long lineage, long from, long to, boolean full, List<T> present, List<T> absent) {
+            this.lineage = lineage;
+            this.from = from;
+            this.to = to;
+            this.full = full;
+            this.present = present;
+            this.absent = absent;
+        }
+    }
+
+    /**
+     * @param tree the tree to track, which should not be changed other than through this wrapper
+     */
+    public TrackedTree(Tree<T> tree) {
+        this.tree = tree;
+        this.lineage = ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * Returns the wrapped tree for reading, such as serializing it without
+     * the tracking state. It must be treated as read-only: a change made to
+     * it directly is not tracked, so a later delta save would leave it out.
+     * @return the wrapped tree
+     */
+    public Tree<T> getTree() {
+        return tree;
+    }
+
+    /**
+     * @return the number of changes made so far, or the sequence last saved or loaded plus those made since
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return the number of values changed since the last save
+     */
+    public int dirtyCount() {
+        return dirty.size();
+    }
+
+    private void changed(T value) {
+        dirty.put(value, ++sequence);
+    }
+
+    private void rebuilt() {
+        dirty.clear();
+        rebuiltAt = ++sequence;
+    }
+
+    /**
+     * Looks up the changed values, sorted into those now present and those
+     * now absent. It costs O(d log d) for d changed values, or a full
+     * traversal if full is set or the tree was rebuilt since the last save.
+     */
+    Changes<T> changes(boolean full) {
+        if (full || rebuiltAt >= 0) return new Changes<>(lineage, savedSequence, sequence, true, tree.inorderTraversal(), List.of());
+        List<T> present = new ArrayList<>(), absent = new ArrayList<>();
+        for (T value : dirty.keySet()) (tree.contains(value) ? present : absent).add(value);
+        Collections.sort(present);
+        Collections.sort(absent);
+        return new Changes<>(lineage, savedSequence, sequence, false, present, absent);
+    }
+
+    /**
+     * Records that the state at sequence to was saved in the given lineage.
+     * Values changed again after to stay marked.
+     */
+    void saved(long lineage, long to) {
+        this.lineage = lineage;
+        savedSequence = to;
+        dirty.values().removeIf(changedAt -> changedAt <= to);
+        if (rebuiltAt <= to) rebuiltAt = -1;
+    }
+
+    /**
+     * Records that the wrapped tree was just loaded with the state saved at
+     * sequence to, so nothing is changed relative to it.
+     */
+    void restored(long lineage, long to) {
+        this.lineage = lineage;
+        sequence = to;
+        savedSequence = to;
+        dirty.clear();
+        rebuiltAt = -1;
+    }
+
+    @Override
+    public void insert(T value) {
+        int before = tree.size();
+        tree.insert(value);
+        if (tree.size() != before) changed(value);
+    }
+
+    @Override
+    public boolean delete(T value) {
+        if (!tree.delete(value)) return false;
+        changed(value);
+        return true;
+    }
+
+    @Override
+    public boolean contains(T value) {
+        return tree.contains(value);
+    }
+
+    @Override
+    public void clear() {
+        tree.clear();
+        rebuilt();
+    }
+
+    @Override
+    public int size() {
+        return tree.size();
+    }
+
+    @Override
+    public List<T> inorderTraversal() {
+        return tree.inorderTraversal();
+    }
+
+    @Override
+    public String type() {
+        return tree.type();
+    }
+
+    @Override
+    public TreeNode<T> getRoot() {
+        return tree.getRoot();
+    }
+
+    @Override
+    public boolean insertIfAbsent(T value) {
+        if (!tree.insertIfAbsent(value)) return false;
+        changed(value);
+        return true;
+    }
+
+    @Override
+    public T computeIfAbsent(T key, Function<? super T, ? extends T> mapping) {
+        int before = tree.size();
+        T value = tree.computeIfAbsent(key, mapping);
+        if (tree.size() != before) changed(key);
+        return value;
+    }
+
+    @Override
+    public T upsert(T value, BinaryOperator<T> remapping) {
+        int before = tree.size();
+        T stored = tree.upsert(value, remapping);
+        if (tree.size() != before) changed(value);
+        return stored;
+    }
+
+    @Override
+    public T deleteAndGet(T value) {
+        T removed = tree.deleteAndGet(value);
+        if (removed != null) changed(value);
+        return removed;
+    }
+
+    @Override
+    public int applyBatch(List<? extends Mutation<T>> ops) {
+        int changedCount = tree.applyBatch(ops);
+        if (changedCount > 0) {
+            for (Mutation<T> op : ops) changed(op.getValue());
+        }
+        return changedCount;
+    }
+
+    @Override
+    public int insertAllSorted(List<? extends T> sorted) {
+        boolean empty = tree.size() == 0;
+        int inserted = tree.insertAllSorted(sorted);
+        if (empty) {
+            if (inserted > 0) rebuilt();
+        } else if (inserted > 0) {
+            for (T value : sorted) changed(value);
+        }
+        return inserted;
+    }
+
+    // Reads go straight to the wrapped tree, which may answer them faster than the defaults.
+
+    @Override
+    public T floor(T key) {
+        return tree.floor(key);
+    }
+
+    @Override
+    public T ceiling(T key) {
+        return tree.ceiling(key);
+    }
+
+    @Override
+    public T lower(T key) {
+        return tree.lower(key);
+    }
+
+    @Override
+    public T higher(T key) {
+        return tree.higher(key);
+    }
+
+    @Override
+    public T first() {
+        return tree.first();
+    }
+
+    @Override
+    public T last() {
+        return tree.last();
+    }
+
+    @Override
+    public Iterable<T> subRange(T from, T to) {
+        return tree.subRange(from, to);
+    }
+
+    @Override
+    public Tree<T> freeze() {
+        return tree.freeze();
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return tree.spliterator();
+    }
+
+    @Override
+    public TreeCursor<T> cursor() {
+        return tree.cursor();
+    }
+}
@@ -0,0 +1,202 @@
+package org.example.Trees;
+//Auther: Abdelnasser Ouda
+import java.io.Serializable;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public interface Tree<T extends Comparable<T>> extends Serializable {
+    void insert(T value);
+    boolean delete(T value);
+    boolean contains(T value);
+    void clear();
+    int size();
+    List<T> inorderTraversal();
+    String type();
+    TreeNode<T> getRoot();
+
+    /**
+     * Inserts value unless an equal value is already stored, in one descent.
+     * @return true if the value was inserted
+     */
+    boolean insertIfAbsent(T value);
+
+    /**
+     * Returns the stored value equal to key, or inserts mapping.apply(key) if
+     * there is none. The mapped value must compare equal to key.
+     * @return the value stored for key after the call
+     */
+    T computeIfAbsent(T key, Function<? super T, ? extends T> mapping);
+
+    /**
+     * Inserts value, or replaces the stored equal value old with
+     * remapping.apply(old, value). The result must compare equal to value.
+     * @return the value stored after the call
+     */
+    T upsert(T value, BinaryOperator<T> remapping);
+
+    /**
+     * Removes the stored value equal to value.
+     * @return the value that was removed, or null if there was none
+     */
+    T deleteAndGet(T value);
+
+    /**
+     * Applies a batch of inserts and deletes in order. The batch must be
+     * sorted by value, which lets the binary search trees start each
+     * search from where the previous one ended instead of from the root.
+     * The default applies each operation on its own.
+     * @return the number of operations that changed the tree
+     * @throws IllegalArgumentException if ops are not sorted by value; nothing is applied then
+     */
+    default int applyBatch(List<? extends Mutation<T>> ops) {
+        Mutation.checkSorted(ops);
+        int changed = 0;
+        for (Mutation<T> op : ops) {
+            if (op.isInsert() ? insertIfAbsent(op.getValue()) : delete(op.getValue())) changed++;
+        }
+        return changed;
+    }
+
+    /**
+     * Inserts values given in strictly increasing order, as read back from
+     * a KeyCodec file. Empty binary search trees and heaps are built from
+     * them directly in O(n); the default inserts them one at a time.
+     * @return the number of values inserted
+     * @throws IllegalArgumentException if a tree that builds directly gets values out of order
+     */
+    default int insertAllSorted(List<? extends T> sorted) {
+        int inserted = 0;
+        for (T value : sorted) {
+            if (insertIfAbsent(value)) inserted++;
+        }
+        return inserted;
+    }
+
+    // Navigation. The defaults walk getRoot() as a binary search tree in
+    // O(height); trees whose nodes are not in search order override them.
+
+    /**
+     * @return the greatest value less than or equal to key, or null
+     */
+    default T floor(T key) {
+        return TreeNavigation.floor(getRoot(), key, true);
+    }
+
+    /**
+     * @return the smallest value greater than or equal to key, or null
+     */
+    default T ceiling(T key) {
+        return TreeNavigation.ceiling(getRoot(), key, true);
+    }
+
+    /**
+     * @return the greatest value strictly less than key, or null
+     */
+    default T lower(T key) {
+        return TreeNavigation.floor(getRoot(), key, false);
+    }
+
+    /**
+     * @return the smallest value strictly greater than key, or null
+     */
+    default T higher(T key) {
+        return TreeNavigation.ceiling(getRoot(), key, false);
+    }
+
+    /**
+     * @return the smallest value, or null if the tree is empty
+     */
+    default T first() {
+        return TreeNavigation.first(getRoot());
+    }
+
+    /**
+     * @return the greatest value, or null if the tree is empty
+     */
+    default T last() {
+        return TreeNavigation.last(getRoot());
+    }
+
+    /**
+     * Returns a lazy, ordered view of the values in [from, to). Only the
+     * values actually iterated are visited. Null bounds are open.
+     * The tree must not be modified while iterating.
+     */
+    default Iterable<T> subRange(T from, T to) {
+        return () -> TreeNavigation.range(getRoot(), from, to);
+    }
+
+    /**
+     * Returns an immutable snapshot of the values, laid out in one array in
+     * Eytzinger (breadth-first) order so lookups avoid chasing node
+     * pointers. Later changes to this tree do not show in the snapshot, and
+     * modifying the snapshot throws UnsupportedOperationException.
+     */
+    default Tree<T> freeze() {
+        return FrozenTree.of(this);
+    }
+
+    // Parallel reductions. The values are split at subtree roots, or at
+    // index ranges for heaps, and parts of fewer than a few thousand values
+    // are scanned sequentially; no list of the values is built. They run on
+    // the common fork-join pool and the tree must not change meanwhile.
+
+    /**
+     * Returns a spliterator over the values, in order for search trees.
+     * Trees without nodes fall back to their ordered iteration, which
+     * parallel streams can only split into batches.
+     */
+    default Spliterator<T> spliterator() {
+        TreeNode<T> root = getRoot();
+        if (root == null && size() > 0) {
+            return Spliterators.spliterator(subRange(null, null).iterator(), size(),
+                    Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL);
+        }
+        return new NodeSpliterator<>(root, size());
+    }
+
+    /**
+     * @return a parallel stream of the values, split by spliterator()
+     */
+    default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * @return the number of values matching predicate, counted in parallel
+     */
+    default long parallelCount(Predicate<? super T> predicate) {
+        return parallelStream().filter(predicate).count();
+    }
+
+    /**
+     * @return the sum of mapper over all values, computed in parallel
+     */
+    default long parallelSum(ToLongFunction<? super T> mapper) {
+        return parallelStream().mapToLong(mapper).sum();
+    }
+
+    /**
+     * Searches the values in parallel and stops all parts once one finds a
+     * match.
+     * @return some value matching predicate, not necessarily the first, or null
+     */
+    default T parallelFindAny(Predicate<? super T> predicate) {
+        return parallelStream().filter(predicate).findAny().orElse(null);
+    }
+
+    /**
+     * Returns a cursor positioned at the root. The cursor can be moved around
+     * and reused for a whole traversal without allocating per node.
+     */
+    default TreeCursor<T> cursor() {
+        return new NodeCursor<>(this);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package org.example.Trees;
+
+/**
+ * A movable position inside a tree. Unlike walking TreeNode objects, a cursor
+ * is created once and then moved around, so traversing even a heap (whose
+ * nodes are just array indexes) allocates nothing per step.
+ * The move methods return false and leave the cursor in place when there is
+ * no node to move to.
+ * @param <T> the type of value stored in the tree
+ */
+public interface TreeCursor<T> {
+    /**
+     * Moves the cursor back to the root.
+     * @return false if the tree is empty, in which case no other method may be called
+     */
+    boolean toRoot();
+    boolean toLeft();
+    boolean toRight();
+    boolean toParent();
+    boolean hasLeft();
+    boolean hasRight();
+
+    /**
+     * @return the number of edges between the root and the current node
+     */
+    int depth();
+    T value();
+
+    /**
+     * @return the color of the current node, as TreeNode.getColor() would report it
+     */
+    String color();
+}
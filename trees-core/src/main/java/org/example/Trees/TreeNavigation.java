@@ -0,0 +1,102 @@
+package org.example.Trees;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterative ordered searches over a binary search tree given by its TreeNode
+ * links. These back the navigation defaults of Tree; each one follows a
+ * single root-to-leaf path.
+ */
+final class TreeNavigation {
+    private TreeNavigation() {
+    }
+
+    /**
+     * Finds the greatest value below (or, if inclusive, equal to) key.
+     */
+    static <T extends Comparable<T>> T floor(TreeNode<T> node, T key, boolean inclusive) {
+        T best = null;
+        while (node != null) {
+            int cmp = key.compareTo(node.getValue());
+            if (cmp == 0 && inclusive) return node.getValue();
+            if (cmp > 0) {
+                best = node.getValue();
+                node = node.getRight();
+            } else {
+                node = node.getLeft();
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Finds the smallest value above (or, if inclusive, equal to) key.
+     */
+    static <T extends Comparable<T>> T ceiling(TreeNode<T> node, T key, boolean inclusive) {
+        T best = null;
+        while (node != null) {
+            int cmp = key.compareTo(node.getValue());
+            if (cmp == 0 && inclusive) return node.getValue();
+            if (cmp < 0) {
+                best = node.getValue();
+                node = node.getLeft();
+            } else {
+                node = node.getRight();
+            }
+        }
+        return best;
+    }
+
+    static <T> T first(TreeNode<T> node) {
+        if (node == null) return null;
+        for (TreeNode<T> left = node.getLeft(); left != null; left = left.getLeft()) node = left;
+        return node.getValue();
+    }
+
+    static <T> T last(TreeNode<T> node) {
+        if (node == null) return null;
+        for (TreeNode<T> right = node.getRight(); right != null; right = right.getRight()) node = right;
+        return node.getValue();
+    }
+
+    /**
+     * Lazily iterates the values in [from, to) in order. Only the path to the
+     * next value is kept, so visiting k values costs O(log n + k).
+     * A null bound leaves that side open.
+     */
+    static <T extends Comparable<T>> Iterator<T> range(TreeNode<T> root, T from, T to) {
+        return new Iterator<T>() {
+            private final Deque<TreeNode<T>> path = new ArrayDeque<>();
+
+            {
+                // keep the nodes >= from on the way down to the first value in range
+                for (TreeNode<T> node = root; node != null; ) {
+                    if (from == null || node.getValue().compareTo(from) >= 0) {
+                        path.push(node);
+                        node = node.getLeft();
+                    } else {
+                        node = node.getRight();
+                    }
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty() && (to == null || path.peek().getValue().compareTo(to) < 0);
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                TreeNode<T> node = path.pop();
+                for (TreeNode<T> child = node.getRight(); child != null; child = child.getLeft()) {
+                    path.push(child);
+                }
+                return node.getValue();
+            }
+        };
+    }
+}
@@ -0,0 +1,483 @@
+package org.example.Trees;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Set of int keys in a van Emde Boas layout. A 32-bit key is split into a
+ * high and a low half: the high half picks a cluster holding the low halves,
+ * and a summary structure over the high halves finds the next non-empty
+ * cluster. Each operation recurses into only one of the two, so insert,
+ * delete, contains and the successor and predecessor queries take
+ * O(log log U) steps: 32 bits, then 16, then an 8-bit bitmap.
+ * Clusters are kept in open-addressing tables sized to the clusters that
+ * exist, and a node's minimum is held in the node instead of in a cluster,
+ * so memory grows with the number of keys rather than the 2^32 universe.
+ * Keys are stored unboxed; methods that return a stored value return an
+ * equal Integer, not the instance that was inserted.
+ */
+public class VanEmdeBoasTree implements Tree<Integer> {
+    // returned by successor and predecessor when there is no such key
+    private static final long NONE = -1;
+
+    private Node root = Node.create(32);
+    private int size;
+
+    // keys are kept unsigned, so flipping the sign bit keeps the int order
+    private static int unsigned(Integer key) {
+        return key ^ Integer.MIN_VALUE;
+    }
+
+    private static Integer signed(long u) {
+        return (int) u ^ Integer.MIN_VALUE;
+    }
+
+    @Override
+    public void insert(Integer value) {
+        insertIfAbsent(value);
+    }
+
+    @Override
+    public boolean insertIfAbsent(Integer value) {
+        if (!root.insert(unsigned(value))) return false;
+        size++;
+        return true;
+    }
+
+    @Override
+    public Integer computeIfAbsent(Integer key, Function<? super Integer, ? extends Integer> mapping) {
+        if (contains(key)) return key;
+        Integer value = mapping.apply(key);
+        insert(value);
+        return value;
+    }
+
+    /**
+     * Since the remapped value must equal value and keys carry nothing
+     * else, an existing key is left as it is.
+     */
+    @Override
+    public Integer upsert(Integer value, BinaryOperator<Integer> remapping) {
+        if (insertIfAbsent(value)) return value;
+        return remapping.apply(value, value);
+    }
+
+    @Override
+    public boolean delete(Integer value) {
+        if (!root.delete(unsigned(value))) return false;
+        size--;
+        return true;
+    }
+
+    @Override
+    public Integer deleteAndGet(Integer value) {
+        return delete(value) ? value : null;
+    }
+
+    @Override
+    public boolean contains(Integer value) {
+        return root.contains(unsigned(value));
+    }
+
+    @Override
+    public void clear() {
+        root = Node.create(32);
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public List<Integer> inorderTraversal() {
+        List<Integer> result = new ArrayList<>(size);
+        for (Integer value : subRange(null, null)) result.add(value);
+        return result;
+    }
+
+    @Override
+    public Integer ceiling(Integer key) {
+        int u = unsigned(key);
+        return root.contains(u) ? key : higher(key);
+    }
+
+    @Override
+    public Integer higher(Integer key) {
+        long u = root.successor(unsigned(key));
+        return u == NONE ? null : signed(u);
+    }
+
+    @Override
+    public Integer floor(Integer key) {
+        int u = unsigned(key);
+        return root.contains(u) ? key : lower(key);
+    }
+
+    @Override
+    public Integer lower(Integer key) {
+        long u = root.predecessor(unsigned(key));
+        return u == NONE ? null : signed(u);
+    }
+
+    @Override
+    public Integer first() {
+        return size == 0 ? null : signed(root.min());
+    }
+
+    @Override
+    public Integer last() {
+        return size == 0 ? null : signed(root.max());
+    }
+
+    /**
+     * Walks [from, to) by repeated successor queries, so each step costs
+     * O(log log U) and only the keys iterated are visited.
+     */
+    @Override
+    public Iterable<Integer> subRange(Integer from, Integer to) {
+        return () -> new Iterator<Integer>() {
+            private Integer next = from == null ? first() : ceiling(from);
+
+            @Override
+            public boolean hasNext() {
+                return next != null && (to == null || next < to);
+            }
+
+            @Override
+            public Integer next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                Integer value = next;
+                next = higher(value);
+                return value;
+            }
+        };
+    }
+
+    @Override
+    public String type() {
+        return "van Emde Boas";
+    }
+
+    /**
+     * The keys are not kept in binary nodes, so there is no root to draw
+     * and this returns null.
+     */
+    @Override
+    public TreeNode<Integer> getRoot() {
+        return null;
+    }
+
+    // One level of the structure over keys of a given width, unsigned.
+    // A node is never asked for min() or max() while empty.
+    private abstract static class Node implements Serializable {
+        static Node create(int bits) {
+            return bits <= 8 ? new Leaf() : new Branch(bits);
+        }
+
+        abstract boolean isEmpty();
+        abstract int min();
+        abstract int max();
+        abstract boolean contains(int x);
+        abstract boolean insert(int x);
+        abstract boolean delete(int x);
+        // smallest key greater than x, or NONE
+        abstract long successor(int x);
+        // greatest key less than x, or NONE
+        abstract long predecessor(int x);
+    }
+
+    // keys of up to 8 bits as a 256-bit bitmap, in fields rather than an
+    // array since a sparse set has about one leaf per key
+    private static final class Leaf extends Node {
+        private long w0, w1, w2, w3;
+
+        private long word(int w) {
+            switch (w) {
+                case 0: return w0;
+                case 1: return w1;
+                case 2: return w2;
+                default: return w3;
+            }
+        }
+
+        private void setWord(int w, long word) {
+            switch (w) {
+                case 0: w0 = word; break;
+                case 1: w1 = word; break;
+                case 2: w2 = word; break;
+                default: w3 = word;
+            }
+        }
+
+        @Override
+        boolean isEmpty() {
+            return (w0 | w1 | w2 | w3) == 0;
+        }
+
+        @Override
+        int min() {
+            return (int) successor(-1);
+        }
+
+        @Override
+        int max() {
+            return (int) predecessor(256);
+        }
+
+        @Override
+        boolean contains(int x) {
+            return (word(x >>> 6) & (1L << x)) != 0;
+        }
+
+        @Override
+        boolean insert(int x) {
+            long old = word(x >>> 6);
+            setWord(x >>> 6, old | (1L << x));
+            return (old & (1L << x)) == 0;
+        }
+
+        @Override
+        boolean delete(int x) {
+            long old = word(x >>> 6);
+            setWord(x >>> 6, old & ~(1L << x));
+            return (old & (1L << x)) != 0;
+        }
+
+        @Override
+        long successor(int x) {
+            int from = x + 1;
+            if (from >= 256) return NONE;
+            int w = from >>> 6;
+            long word = word(w) & (-1L << from);
+            while (word == 0) {
+                if (++w == 4) return NONE;
+                word = word(w);
+            }
+            return (w << 6) + Long.numberOfTrailingZeros(word);
+        }
+
+        @Override
+        long predecessor(int x) {
+            int to = x - 1;
+            if (to < 0) return NONE;
+            int w = to >>> 6;
+            long word = word(w) & (-1L >>> (63 - (to & 63)));
+            while (word == 0) {
+                if (--w < 0) return NONE;
+                word = word(w);
+            }
+            return (w << 6) + 63 - Long.numberOfLeadingZeros(word);
+        }
+    }
+
+    private static final class Branch extends Node {
+        private final int lowBits;
+        private final int highBits;
+        private boolean empty = true;
+        // min is held here only and never in a cluster; max is also in its cluster unless max == min
+        private int min, max;
+        // high halves of the non-empty clusters, created with the first cluster
+        private Node summary;
+        private final Clusters clusters = new Clusters();
+
+        Branch(int bits) {
+            lowBits = bits / 2;
+            highBits = bits - lowBits;
+        }
+
+        private int high(int x) {
+            return x >>> lowBits;
+        }
+
+        private int low(int x) {
+            return x & ((1 << lowBits) - 1);
+        }
+
+        private int index(int high, int low) {
+            return (high << lowBits) | low;
+        }
+
+        private static boolean less(int a, int b) {
+            return Integer.compareUnsigned(a, b) < 0;
+        }
+
+        @Override
+        boolean isEmpty() {
+            return empty;
+        }
+
+        @Override
+        int min() {
+            return min;
+        }
+
+        @Override
+        int max() {
+            return max;
+        }
+
+        @Override
+        boolean contains(int x) {
+            if (empty) return false;
+            if (x == min || x == max) return true;
+            Node cluster = clusters.get(high(x));
+            return cluster != null && cluster.contains(low(x));
+        }
+
+        @Override
+        boolean insert(int x) {
+            if (empty) {
+                min = max = x;
+                empty = false;
+                return true;
+            }
+            if (x == min) return false;
+            if (less(x, min)) {
+                // x becomes the minimum and the old minimum moves into a cluster
+                int t = x;
+                x = min;
+                min = t;
+            }
+            int h = high(x);
+            Node cluster = clusters.get(h);
+            if (cluster == null) {
+                // a new cluster takes x in O(1), so only the summary recurses
+                cluster = Node.create(lowBits);
+                clusters.put(h, cluster);
+                if (summary == null) summary = Node.create(highBits);
+                summary.insert(h);
+            }
+            if (!cluster.insert(low(x))) return false;
+            if (less(max, x)) max = x;
+            return true;
+        }
+
+        @Override
+        boolean delete(int x) {
+            if (empty) return false;
+            if (min == max) {
+                if (x != min) return false;
+                empty = true;
+                return true;
+            }
+            if (x == min) {
+                // the smallest key in the clusters becomes the new minimum
+                int h = summary.min();
+                x = index(h, clusters.get(h).min());
+                min = x;
+            }
+            int h = high(x);
+            Node cluster = clusters.get(h);
+            if (cluster == null || !cluster.delete(low(x))) return false;
+            if (cluster.isEmpty()) {
+                // the cluster held only x, so its delete was O(1)
+                clusters.remove(h);
+                summary.delete(h);
+            }
+            if (x == max) {
+                if (summary.isEmpty()) {
+                    max = min;
+                } else {
+                    int top = summary.max();
+                    max = index(top, clusters.get(top).max());
+                }
+            }
+            return true;
+        }
+
+        @Override
+        long successor(int x) {
+            if (empty || !less(x, max)) return NONE;
+            if (less(x, min)) return Integer.toUnsignedLong(min);
+            int h = high(x);
+            Node cluster = clusters.get(h);
+            if (cluster != null && less(low(x), cluster.max())) {
+                return Integer.toUnsignedLong(index(h, (int) cluster.successor(low(x))));
+            }
+            int next = (int) summary.successor(h);
+            return Integer.toUnsignedLong(index(next, clusters.get(next).min()));
+        }
+
+        @Override
+        long predecessor(int x) {
+            if (empty || !less(min, x)) return NONE;
+            if (less(max, x)) return Integer.toUnsignedLong(max);
+            int h = high(x);
+            Node cluster = clusters.get(h);
+            if (cluster != null && less(cluster.min(), low(x))) {
+                return Integer.toUnsignedLong(index(h, (int) cluster.predecessor(low(x))));
+            }
+            long previous = summary == null ? NONE : summary.predecessor(h);
+            if (previous == NONE) return Integer.toUnsignedLong(min);
+            return Integer.toUnsignedLong(index((int) previous, clusters.get((int) previous).max()));
+        }
+    }
+
+    // Open-addressing table from cluster number to cluster, with linear
+    // probing. It grows past 2/3 full and shrinks below 1/8.
+    private static final class Clusters implements Serializable {
+        private int[] keys = new int[2];
+        private Node[] values = new Node[2];
+        private int count;
+
+        private int slot(int key) {
+            return (key * 0x9E3779B9) >>> (32 - Integer.numberOfTrailingZeros(keys.length));
+        }
+
+        Node get(int key) {
+            int mask = keys.length - 1;
+            for (int i = slot(key); values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) return values[i];
+            }
+            return null;
+        }
+
+        // key must not be present
+        void put(int key, Node value) {
+            if (3 * (count + 1) > 2 * keys.length) resize(keys.length * 2);
+            int mask = keys.length - 1;
+            int i = slot(key);
+            while (values[i] != null) i = (i + 1) & mask;
+            keys[i] = key;
+            values[i] = value;
+            count++;
+        }
+
+        // key must be present
+        void remove(int key) {
+            int mask = keys.length - 1;
+            int i = slot(key);
+            while (keys[i] != key || values[i] == null) i = (i + 1) & mask;
+            // shift later entries of the probe run back into the gap
+            for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+                int home = slot(keys[j]);
+                if (((j - home) & mask) >= ((j - i) & mask)) {
+                    keys[i] = keys[j];
+                    values[i] = values[j];
+                    i = j;
+                }
+            }
+            values[i] = null;
+            count--;
+            if (keys.length > 2 && 8 * count < keys.length) resize(keys.length / 2);
+        }
+
+        private void resize(int capacity) {
+            int[] oldKeys = keys;
+            Node[] oldValues = values;
+            keys = new int[capacity];
+            values = new Node[capacity];
+            count = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != null) put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
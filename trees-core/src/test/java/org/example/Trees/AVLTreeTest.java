@@ -0,0 +1,100 @@
+package org.example.Trees;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AVLTreeTest {
+    // checks the WAVL rank rules; in weak mode the height field holds the rank
+    static void checkWavl(AVLTree.Node<Integer> node) {
+        if (node == null) return;
+        int left = node.height - rank(node.left);
+        int right = node.height - rank(node.right);
+        assertTrue(left >= 1 && left <= 2 && right >= 1 && right <= 2,
+                "rank differences " + left + ", " + right + " at " + node.value);
+        if (node.left == null && node.right == null) assertEquals(1, node.height, "leaf rank at " + node.value);
+        checkWavl(node.left);
+        checkWavl(node.right);
+    }
+
+    private static int rank(AVLTree.Node<Integer> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    @Test
+    void weakTreeMatchesTreeSet() {
+        Consumer<Tree<Integer>> check = tree -> {
+            AbstractBinarySearchTreeTest.checkOrder(tree.getRoot(), null, null);
+            checkWavl(((AVLTree<Integer>) tree).root);
+        };
+        AbstractBinarySearchTreeTest.fuzz(new AVLTree<>(null, false, true), check, 100000, 3000);
+        AbstractBinarySearchTreeTest.fuzz(new AVLTree<>(null, true, true), check, 100000, 3000);
+    }
+
+    @Test
+    void weakTreeBuiltByInsertsIsAvl() {
+        Random random = new Random(5);
+        AVLTree<Integer> tree = new AVLTree<>(null, false, true);
+        for (int i = 0; i < 50000; i++) tree.insert(random.nextInt());
+        AbstractBinarySearchTreeTest.checkAvl(tree);
+        checkWavl(tree.root);
+    }
+
+    @Test
+    void weakTreeRotatesAtMostTwicePerDelete() {
+        Random random = new Random(6);
+        AVLTree<Integer> tree = new AVLTree<>(null, false, true);
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            values.add(i);
+            tree.insert(i);
+        }
+        Collections.shuffle(values, random);
+        int deletes = 0;
+        for (int value : values) {
+            long before = tree.getRotations();
+            assertTrue(tree.delete(value));
+            assertTrue(tree.getRotations() - before <= 2, "rotations deleting " + value);
+            if (++deletes % 500 == 0) {
+                checkWavl(tree.root);
+                int height = AbstractBinarySearchTreeTest.checkOrder(tree.getRoot(), null, null);
+                assertTrue(height <= 2 * Math.log(tree.size() + 1) / Math.log(2) + 1, "height " + height);
+            }
+        }
+        assertEquals(0, tree.size());
+        assertNull(tree.getRoot());
+    }
+
+    @Test
+    void weakTreeKeepsAggregates() {
+        Random random = new Random(5);
+        Augmentation<Integer, Long> sum = Augmentation.sum();
+        AVLTree<Integer> tree = new AVLTree<>(sum, false, true);
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 50000; i++) {
+            int value = random.nextInt(5000);
+            if (random.nextInt(3) > 0) {
+                tree.insert(value);
+                expected.add(value);
+            } else {
+                tree.delete(value);
+                expected.remove(value);
+            }
+            if (i % 97 == 0) {
+                int from = random.nextInt(5000);
+                int to = from + random.nextInt(2000);
+                long total = 0;
+                for (int key : expected.subSet(from, to)) total += key;
+                assertEquals(total, tree.aggregate(sum, from, to));
+            }
+        }
+        checkWavl(tree.root);
+    }
+}
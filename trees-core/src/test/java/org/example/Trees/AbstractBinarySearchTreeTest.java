@@ -0,0 +1,346 @@
+package org.example.Trees;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AbstractBinarySearchTreeTest {
+    // checks the search order below node and returns the subtree height
+    static int checkOrder(TreeNode<Integer> node, Integer low, Integer high) {
+        if (node == null) return 0;
+        Integer value = node.getValue();
+        assertTrue(low == null || value > low, "order");
+        assertTrue(high == null || value < high, "order");
+        return 1 + Math.max(checkOrder(node.getLeft(), low, value), checkOrder(node.getRight(), value, high));
+    }
+
+    // checks that every subtree is AVL balanced and its stored height is right
+    static int checkAvl(AVLTree.Node<Integer> node) {
+        if (node == null) return 0;
+        int left = checkAvl(node.left);
+        int right = checkAvl(node.right);
+        assertTrue(Math.abs(left - right) <= 1, "unbalanced at " + node.value);
+        assertEquals(1 + Math.max(left, right), node.height, "stored height at " + node.value);
+        return 1 + Math.max(left, right);
+    }
+
+    // checks colours and parent pointers and returns the black height
+    static int checkRedBlack(RedBlackTree.Node<Integer> node, RedBlackTree.Node<Integer> parent) {
+        if (node == null) return 1;
+        assertSame(parent, node.parent, "parent of " + node.value);
+        boolean red = "RED".equals(node.getColor());
+        if (red) {
+            assertFalse("RED".equals(node.left == null ? null : node.left.getColor()), "red-red at " + node.value);
+            assertFalse("RED".equals(node.right == null ? null : node.right.getColor()), "red-red at " + node.value);
+        }
+        int left = checkRedBlack(node.left, node);
+        assertEquals(left, checkRedBlack(node.right, node), "black height at " + node.value);
+        return left + (red ? 0 : 1);
+    }
+
+    static void checkAvl(AVLTree<Integer> tree) {
+        checkOrder(tree.getRoot(), null, null);
+        checkAvl(tree.root);
+    }
+
+    static void checkRedBlack(RedBlackTree<Integer> tree) {
+        checkOrder(tree.getRoot(), null, null);
+        assertFalse("RED".equals(tree.root == null ? null : tree.root.getColor()), "red root");
+        checkRedBlack(tree.root, null);
+    }
+
+    /**
+     * Runs random single operations against tree and a TreeSet, calling
+     * check on the tree every so often.
+     */
+    static void fuzz(Tree<Integer> tree, Consumer<Tree<Integer>> check, int rounds, int range) {
+        Random random = new Random(7);
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < rounds; i++) {
+            int value = random.nextInt(range);
+            switch (random.nextInt(6)) {
+                case 0 -> {
+                    tree.insert(value);
+                    expected.add(value);
+                }
+                case 1 -> assertEquals(expected.add(value), tree.insertIfAbsent(value));
+                case 2 -> assertEquals(expected.remove(value), tree.delete(value));
+                case 3 -> assertEquals(expected.remove(value) ? value : null, tree.deleteAndGet(value));
+                case 4 -> {
+                    assertEquals(value, tree.upsert(value, (old, added) -> old));
+                    expected.add(value);
+                }
+                default -> assertEquals(expected.contains(value), tree.contains(value));
+            }
+            assertEquals(expected.size(), tree.size());
+            if (i % 97 == 0) {
+                assertEquals(new ArrayList<>(expected), tree.inorderTraversal());
+                check.accept(tree);
+            }
+        }
+        assertEquals(new ArrayList<>(expected), tree.inorderTraversal());
+        check.accept(tree);
+    }
+
+    @Test
+    void binarySearchTreeMatchesTreeSet() {
+        fuzz(new BinarySearchTree<>(), tree -> checkOrder(tree.getRoot(), null, null), 20000, 500);
+        fuzz(new BinarySearchTree<>(true), tree -> checkOrder(tree.getRoot(), null, null), 20000, 500);
+    }
+
+    @Test
+    void avlTreeStaysBalanced() {
+        fuzz(new AVLTree<>(), tree -> checkAvl((AVLTree<Integer>) tree), 50000, 2000);
+        fuzz(new AVLTree<>(true), tree -> checkAvl((AVLTree<Integer>) tree), 50000, 2000);
+    }
+
+    @Test
+    void redBlackTreeKeepsColourRules() {
+        fuzz(new RedBlackTree<>(), tree -> checkRedBlack((RedBlackTree<Integer>) tree), 50000, 2000);
+    }
+
+    @Test
+    void scapegoatTreeMatchesTreeSet() {
+        fuzz(new ScapegoatTree<>(), tree -> checkOrder(tree.getRoot(), null, null), 20000, 500);
+    }
+
+    @Test
+    void semiSplayTreeMatchesTreeSet() {
+        fuzz(new SplayTree<>(), tree -> checkOrder(tree.getRoot(), null, null), 20000, 500);
+        fuzz(new SplayTree<>(true), tree -> checkOrder(tree.getRoot(), null, null), 20000, 500);
+    }
+
+    @Test
+    void semiSplayHalvesSearchPath() {
+        // ascending inserts leave a single left path of 1000 nodes
+        SplayTree<Integer> tree = new SplayTree<>(true);
+        for (int i = 0; i < 1000; i++) tree.insert(i);
+        assertEquals(1000, checkOrder(tree.getRoot(), null, null));
+        assertTrue(tree.contains(0));
+        int height = checkOrder(tree.getRoot(), null, null);
+        assertTrue(height <= 502, "height " + height);
+        // the key is not moved to the root
+        assertNotEquals(0, tree.getRoot().getValue());
+        assertFalse(tree.contains(-1));
+    }
+
+    @Test
+    void deleteMovesSuccessorIntoNodeWithTwoChildren() {
+        BinarySearchTree<Integer> tree = new BinarySearchTree<>();
+        for (int value : new int[]{50, 30, 70, 20, 40, 60, 80, 65}) tree.insert(value);
+        assertTrue(tree.delete(50));
+        assertEquals(60, tree.getRoot().getValue());
+        assertEquals(List.of(20, 30, 40, 60, 65, 70, 80), tree.inorderTraversal());
+        assertEquals(65, tree.getRoot().getRight().getLeft().getValue());
+        assertFalse(tree.delete(50));
+        assertNull(tree.deleteAndGet(55));
+        assertEquals(7, tree.size());
+    }
+
+    @Test
+    void deletingEveryValueEmptiesBalancedTrees() {
+        Random random = new Random(11);
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) values.add(i);
+        AVLTree<Integer> avl = new AVLTree<>(true);
+        RedBlackTree<Integer> redBlack = new RedBlackTree<>();
+        for (int round = 0; round < 2; round++) {
+            Collections.shuffle(values, random);
+            for (int value : values) {
+                avl.insert(value);
+                redBlack.insert(value);
+            }
+            Collections.shuffle(values, random);
+            for (int i = 0; i < values.size(); i++) {
+                assertEquals(values.get(i), avl.deleteAndGet(values.get(i)));
+                assertTrue(redBlack.delete(values.get(i)));
+                if (i % 250 == 0) {
+                    checkAvl(avl);
+                    checkRedBlack(redBlack);
+                }
+            }
+            assertEquals(0, avl.size());
+            assertNull(avl.getRoot());
+            assertEquals(0, redBlack.size());
+            assertNull(redBlack.getRoot());
+        }
+    }
+
+    @Test
+    void mapsKeepValuesWhenNodesAreUnlinked() {
+        Random random = new Random(13);
+        AVLTreeMap<Integer, String> avl = new AVLTreeMap<>();
+        RedBlackTreeMap<Integer, String> redBlack = new RedBlackTreeMap<>();
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(1000);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    String value = "v" + i;
+                    assertEquals(expected.put(key, value), avl.put(key, value));
+                    redBlack.put(key, value);
+                }
+                case 1 -> {
+                    String removed = expected.remove(key);
+                    assertEquals(removed, avl.remove(key));
+                    assertEquals(removed, redBlack.remove(key));
+                }
+                default -> {
+                    String value = expected.compute(key, (k, old) -> old == null ? "c" + k : null);
+                    assertEquals(value, avl.compute(key, (k, old) -> old == null ? "c" + k : null));
+                    assertEquals(value, redBlack.compute(key, (k, old) -> old == null ? "c" + k : null));
+                }
+            }
+        }
+        for (int key = 0; key < 1000; key++) {
+            assertEquals(expected.get(key), avl.get(key));
+            assertEquals(expected.get(key), redBlack.get(key));
+        }
+        checkAvl(avl);
+        checkRedBlack(redBlack);
+    }
+
+    @Test
+    void mapsTakeOptionsOfTheirTrees() {
+        Augmentation<Integer, Long> sum = Augmentation.sum();
+        AVLTreeMap<Integer, String> weak = new AVLTreeMap<>(sum, true, true);
+        RedBlackTreeMap<Integer, String> redBlack = new RedBlackTreeMap<>(sum);
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        Random random = new Random(17);
+        for (int i = 0; i < 5000; i++) {
+            int key = random.nextInt(500);
+            if (random.nextInt(3) > 0) {
+                expected.put(key, "v" + i);
+                weak.put(key, "v" + i);
+                redBlack.put(key, "v" + i);
+            } else {
+                expected.remove(key);
+                weak.remove(key);
+                redBlack.remove(key);
+            }
+        }
+        long total = 0;
+        for (int key : expected.subMap(100, 300).keySet()) total += key;
+        assertEquals(total, weak.aggregate(sum, 100, 300));
+        assertEquals(total, redBlack.aggregate(sum, 100, 300));
+        AVLTreeTest.checkWavl(weak.root);
+        checkRedBlack(redBlack);
+
+        List<Map.Entry<Integer, String>> entries = new ArrayList<>();
+        for (Map.Entry<Integer, String> entry : weak.entries()) entries.add(entry);
+        assertEquals(new ArrayList<>(expected.entrySet()), entries);
+        entries.clear();
+        for (Map.Entry<Integer, String> entry : redBlack.entries()) entries.add(entry);
+        assertEquals(new ArrayList<>(expected.entrySet()), entries);
+        assertEquals(expected.floorEntry(250), weak.floorEntry(250));
+        assertEquals(expected.ceilingEntry(250), redBlack.ceilingEntry(250));
+    }
+
+    private static void applyRandomBatches(Tree<Integer> tree, Consumer<Tree<Integer>> check) {
+        Random random = new Random(1);
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int round = 0; round < 1000; round++) {
+            int range = random.nextBoolean() ? 3000 : 300;
+            List<Mutation<Integer>> ops = new ArrayList<>();
+            for (int i = random.nextInt(200); i > 0; i--) {
+                int value = random.nextInt(range);
+                ops.add(random.nextInt(3) > 0 ? Mutation.insert(value) : Mutation.delete(value));
+            }
+            ops.sort(Comparator.comparing(Mutation::getValue));
+            int changed = 0;
+            for (Mutation<Integer> op : ops) {
+                if (op.isInsert() ? expected.add(op.getValue()) : expected.remove(op.getValue())) changed++;
+            }
+            assertEquals(changed, tree.applyBatch(ops));
+            assertEquals(expected.size(), tree.size());
+
+            // the finger must not outlive the batch
+            int value = random.nextInt(range);
+            assertEquals(expected.add(value), tree.insertIfAbsent(value));
+            if (round % 50 == 0) {
+                assertEquals(new ArrayList<>(expected), tree.inorderTraversal());
+                check.accept(tree);
+            }
+        }
+        assertEquals(new ArrayList<>(expected), tree.inorderTraversal());
+    }
+
+    @Test
+    void applyBatchMatchesSingleOperations() {
+        Consumer<Tree<Integer>> order = tree -> checkOrder(tree.getRoot(), null, null);
+        applyRandomBatches(new BinarySearchTree<>(), order);
+        applyRandomBatches(new BinarySearchTree<>(true), order);
+        applyRandomBatches(new AVLTree<>(), tree -> checkAvl((AVLTree<Integer>) tree));
+        applyRandomBatches(new AVLTree<>(null, true, true), tree -> AVLTreeTest.checkWavl(((AVLTree<Integer>) tree).root));
+        applyRandomBatches(new RedBlackTree<>(), tree -> checkRedBlack((RedBlackTree<Integer>) tree));
+        applyRandomBatches(new ScapegoatTree<>(), order);
+        applyRandomBatches(new SplayTree<>(), order);
+    }
+
+    @Test
+    void applyBatchRejectsUnsortedBatch() {
+        AVLTree<Integer> tree = new AVLTree<>();
+        tree.insert(5);
+        assertThrows(IllegalArgumentException.class,
+                () -> tree.applyBatch(List.of(Mutation.insert(2), Mutation.delete(5), Mutation.insert(1))));
+        assertEquals(List.of(5), tree.inorderTraversal());
+    }
+
+    // key which counts how often it is compared
+    private static final class CountingKey implements Comparable<CountingKey> {
+        static long comparisons;
+        final int value;
+
+        CountingKey(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(CountingKey other) {
+            comparisons++;
+            return Integer.compare(value, other.value);
+        }
+    }
+
+    @Test
+    void applyBatchResumesSearchFromFinger() {
+        int n = 1 << 16;
+        List<Supplier<Tree<CountingKey>>> factories = List.of(BinarySearchTree::new, AVLTree::new, RedBlackTree::new);
+        for (Supplier<Tree<CountingKey>> factory : factories) {
+            List<Integer> values = new ArrayList<>();
+            for (int i = 0; i < n; i++) values.add(2 * i);
+            Collections.shuffle(values, new Random(3));
+            Tree<CountingKey> batched = factory.get();
+            Tree<CountingKey> single = factory.get();
+            for (int value : values) {
+                batched.insert(new CountingKey(value));
+                single.insert(new CountingKey(value));
+            }
+
+            // every odd key in the lower half: dense enough that neighbours share most of their path
+            List<Mutation<CountingKey>> ops = new ArrayList<>();
+            for (int i = 0; i < n / 2; i++) ops.add(Mutation.insert(new CountingKey(2 * i + 1)));
+            CountingKey.comparisons = 0;
+            assertEquals(ops.size(), batched.applyBatch(ops));
+            long batchComparisons = CountingKey.comparisons;
+            CountingKey.comparisons = 0;
+            for (Mutation<CountingKey> op : ops) single.insert(op.getValue());
+            long singleComparisons = CountingKey.comparisons;
+
+            assertEquals(single.size(), batched.size());
+            assertTrue(2 * batchComparisons < singleComparisons,
+                    batched.type() + ": " + batchComparisons + " batched vs " + singleComparisons + " single");
+        }
+    }
+}
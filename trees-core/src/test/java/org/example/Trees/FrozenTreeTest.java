@@ -0,0 +1,117 @@
+package org.example.Trees;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrozenTreeTest {
+    // sizes around the ends of full levels, where the Eytzinger layout changes shape
+    private static final int[] SIZES = {0, 1, 2, 3, 4, 5, 6, 7, 8, 15, 16, 17, 100, 255, 256, 1000};
+
+    private static <T extends Comparable<T>> List<T> list(Iterable<T> values) {
+        List<T> result = new ArrayList<>();
+        for (T value : values) result.add(value);
+        return result;
+    }
+
+    // compares the snapshot with the TreeSet at every probe and over every range between probes
+    private static <T extends Comparable<T>> void assertMatches(Tree<T> frozen, TreeSet<T> expected, List<T> probes) {
+        assertEquals(expected.size(), frozen.size());
+        assertEquals(new ArrayList<>(expected), frozen.inorderTraversal());
+        assertEquals(expected.isEmpty() ? null : expected.first(), frozen.first());
+        assertEquals(expected.isEmpty() ? null : expected.last(), frozen.last());
+        assertEquals(new ArrayList<>(expected), list(frozen.subRange(null, null)));
+        for (T probe : probes) {
+            String at = "at " + probe + " in " + expected.size();
+            assertEquals(expected.contains(probe), frozen.contains(probe), at);
+            assertEquals(expected.floor(probe), frozen.floor(probe), at);
+            assertEquals(expected.ceiling(probe), frozen.ceiling(probe), at);
+            assertEquals(expected.lower(probe), frozen.lower(probe), at);
+            assertEquals(expected.higher(probe), frozen.higher(probe), at);
+            assertEquals(new ArrayList<>(expected.tailSet(probe)), list(frozen.subRange(probe, null)), at);
+            assertEquals(new ArrayList<>(expected.headSet(probe)), list(frozen.subRange(null, probe)), at);
+        }
+        for (int i = 0; i + 1 < probes.size(); i += 7) {
+            T from = probes.get(i), to = probes.get(i + 1);
+            if (from.compareTo(to) > 0) {
+                T swap = from;
+                from = to;
+                to = swap;
+            }
+            assertEquals(new ArrayList<>(expected.subSet(from, to)), list(frozen.subRange(from, to)), "[" + from + ", " + to + ")");
+        }
+    }
+
+    @Test
+    void integerSnapshotMatchesTreeSet() {
+        Random random = new Random(1);
+        for (int n : SIZES) {
+            AVLTree<Integer> tree = new AVLTree<>();
+            TreeSet<Integer> expected = new TreeSet<>();
+            // even keys leave a gap on both sides of every key
+            while (expected.size() < n) {
+                int key = 2 * random.nextInt(4 * n + 1) - 4 * n;
+                tree.insert(key);
+                expected.add(key);
+            }
+            List<Integer> probes = new ArrayList<>();
+            for (int probe = -4 * n - 3; probe <= 4 * n + 3; probe++) probes.add(probe);
+            probes.add(Integer.MIN_VALUE);
+            probes.add(Integer.MAX_VALUE);
+            assertMatches(tree.freeze(), expected, probes);
+        }
+    }
+
+    @Test
+    void extremeIntegersMatchTreeSet() {
+        TreeSet<Integer> expected = new TreeSet<>(List.of(Integer.MIN_VALUE, Integer.MIN_VALUE + 1, -1, 0, 1, Integer.MAX_VALUE));
+        RedBlackTree<Integer> tree = new RedBlackTree<>();
+        for (int key : expected) tree.insert(key);
+        List<Integer> probes = List.of(Integer.MIN_VALUE, Integer.MIN_VALUE + 1, Integer.MIN_VALUE + 2, -2, -1, 0, 1, 2,
+                Integer.MAX_VALUE - 1, Integer.MAX_VALUE);
+        assertMatches(tree.freeze(), expected, probes);
+        TreeSet<Integer> single = new TreeSet<>(List.of(Integer.MAX_VALUE));
+        BinarySearchTree<Integer> one = new BinarySearchTree<>();
+        one.insert(Integer.MAX_VALUE);
+        assertMatches(one.freeze(), single, probes);
+    }
+
+    @Test
+    void stringSnapshotMatchesTreeSet() {
+        Random random = new Random(2);
+        for (int n : SIZES) {
+            RedBlackTree<String> tree = new RedBlackTree<>();
+            TreeSet<String> expected = new TreeSet<>();
+            while (expected.size() < n) {
+                String key = Integer.toString(random.nextInt(10 * n + 1), 36);
+                tree.insert(key);
+                expected.add(key);
+            }
+            List<String> probes = new ArrayList<>(expected);
+            for (int i = 0; i < 3 * n + 5; i++) probes.add(Integer.toString(random.nextInt(10 * n + 1), 36));
+            probes.add("");
+            probes.add("~");
+            assertMatches(tree.freeze(), expected, probes);
+        }
+    }
+
+    @Test
+    void snapshotIsReadOnlyAndIndependent() {
+        SplayTree<String> tree = new SplayTree<>();
+        for (String key : List.of("pear", "apple", "fig")) tree.insert(key);
+        Tree<String> frozen = tree.freeze();
+        tree.insert("kiwi");
+        tree.delete("apple");
+        assertEquals(List.of("apple", "fig", "pear"), frozen.inorderTraversal());
+        assertSame(frozen, frozen.freeze());
+        assertThrows(UnsupportedOperationException.class, () -> frozen.insert("kiwi"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.delete("fig"));
+        assertThrows(UnsupportedOperationException.class, frozen::clear);
+        assertEquals(3, frozen.size());
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.Trees;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeapTest {
+    @Test
+    void boundedMinHeapKeepsLargestValues() {
+        Random random = new Random(1);
+        MinHeap<Integer> heap = new MinHeap<>(10);
+        List<Integer> offered = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            int value = random.nextInt(1000000);
+            offered.add(value);
+            heap.offer(value);
+        }
+        assertEquals(10, heap.size());
+        assertTrue(heap.isFull());
+
+        offered.sort(Comparator.reverseOrder());
+        List<Integer> expected = new ArrayList<>(offered.subList(0, 10));
+        Collections.reverse(expected);
+        List<Integer> kept = new ArrayList<>(heap.inorderTraversal());
+        Collections.sort(kept);
+        assertEquals(expected, kept);
+    }
+
+    @Test
+    void boundedMaxHeapKeepsSmallestValues() {
+        Random random = new Random(2);
+        MaxHeap<Integer> heap = new MaxHeap<>(25);
+        List<Integer> offered = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            int value = random.nextInt();
+            offered.add(value);
+            heap.offer(value);
+        }
+        Collections.sort(offered);
+        List<Integer> kept = new ArrayList<>(heap.inorderTraversal());
+        Collections.sort(kept);
+        assertEquals(offered.subList(0, 25), kept);
+    }
+
+    @Test
+    void fullHeapRejectsValuesBelowTheRoot() {
+        MinHeap<Integer> heap = new MinHeap<>(3);
+        assertEquals(3, heap.offerAll(new Integer[]{5, 6, 7}));
+        assertFalse(heap.offer(4));
+        assertFalse(heap.offer(5));
+        assertTrue(heap.offer(8));
+        assertEquals(3, heap.size());
+        assertEquals(6, heap.peek());
+        assertEquals(3, heap.capacity());
+    }
+
+    @Test
+    void capacityMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new MinHeap<Integer>(0));
+        assertThrows(IllegalArgumentException.class, () -> new MaxHeap<Integer>(-1));
+    }
+
+    @Test
+    void pollAndPeekFollowPriorityQueue() {
+        Random random = new Random(3);
+        for (int round = 0; round < 200; round++) {
+            MaxHeap<Integer> heap = new MaxHeap<>();
+            PriorityQueue<Integer> expected = new PriorityQueue<>(Comparator.reverseOrder());
+            for (int i = 0; i < 300; i++) {
+                int value = random.nextInt(100);
+                switch (random.nextInt(4)) {
+                    case 0, 1 -> {
+                        heap.insert(value);
+                        expected.add(value);
+                    }
+                    case 2 -> assertEquals(expected.poll(), heap.poll());
+                    default -> assertEquals(expected.remove(value), heap.delete(value));
+                }
+                assertEquals(expected.peek(), heap.peek());
+                assertEquals(expected.size(), heap.size());
+            }
+            for (Integer value : heap.pollBatch(5)) assertEquals(expected.poll(), value);
+        }
+    }
+
+    @Test
+    void pollOnEmptyHeapReturnsNull() {
+        MinHeap<Integer> heap = new MinHeap<>();
+        assertNull(heap.peek());
+        assertNull(heap.poll());
+        assertTrue(heap.pollBatch(3).isEmpty());
+    }
+
+    @Test
+    void drainSortedEmptiesHeapInPriorityOrder() {
+        Random random = new Random(4);
+        MinHeap<Integer> min = new MinHeap<>();
+        MaxHeap<Integer> max = new MaxHeap<>();
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            int value = random.nextInt(50);
+            values.add(value);
+            min.insert(value);
+            max.insert(value);
+        }
+
+        Collections.sort(values);
+        assertEquals(values, min.drainSorted());
+        values.sort(Comparator.reverseOrder());
+        assertEquals(values, max.drainSorted());
+        assertEquals(0, min.size());
+        assertNull(max.peek());
+
+        // the heap stays usable after draining
+        max.insert(7);
+        max.insert(9);
+        assertEquals(List.of(9, 7), max.drainSorted());
+    }
+
+    @Test
+    void drainSortedKeepsBound() {
+        MaxHeap<Integer> heap = new MaxHeap<>(4);
+        for (int value : new int[]{8, 3, 9, 1, 7, 2}) heap.offer(value);
+        assertEquals(List.of(7, 3, 2, 1), heap.drainSorted());
+        for (int value : new int[]{5, 6, 4, 3, 2}) heap.offer(value);
+        assertTrue(heap.isFull());
+        assertEquals(5, heap.peek());
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.Trees;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalTreeTest {
+    private static List<Interval<Integer>> list(Iterable<Interval<Integer>> intervals) {
+        List<Interval<Integer>> result = new ArrayList<>();
+        for (Interval<Integer> interval : intervals) result.add(interval);
+        return result;
+    }
+
+    // the intervals sharing a point with [from, to], found by looking at every one
+    private static List<Interval<Integer>> scan(TreeSet<Interval<Integer>> intervals, int from, int to) {
+        List<Interval<Integer>> result = new ArrayList<>();
+        for (Interval<Integer> interval : intervals) {
+            if (interval.getStart() <= to && interval.getEnd() >= from) result.add(interval);
+        }
+        return result;
+    }
+
+    @Test
+    void queriesMatchScan() {
+        Random random = new Random(5);
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        TreeSet<Interval<Integer>> expected = new TreeSet<>();
+        for (int i = 0; i < 10000; i++) {
+            // mostly short intervals with a few long ones, so max ends differ between subtrees
+            int start = random.nextInt(5000);
+            Interval<Integer> interval = new Interval<>(start, start + random.nextInt(random.nextInt(10) == 0 ? 2000 : 50));
+            if (random.nextInt(3) > 0) {
+                tree.insert(interval);
+                expected.add(interval);
+            } else {
+                Interval<Integer> present = expected.ceiling(interval);
+                if (present != null) {
+                    assertTrue(tree.delete(present));
+                    expected.remove(present);
+                }
+            }
+            assertEquals(expected.size(), tree.size());
+            int point = random.nextInt(5200) - 100;
+            assertEquals(scan(expected, point, point), list(tree.stab(point)), "stab " + point);
+            int to = point + random.nextInt(100);
+            assertEquals(scan(expected, point, to), list(tree.overlapping(point, to)), "[" + point + ", " + to + "]");
+        }
+        assertEquals(new ArrayList<>(expected), tree.inorderTraversal());
+    }
+
+    @Test
+    void endPointsAreIncluded() {
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        TreeSet<Interval<Integer>> expected = new TreeSet<>();
+        for (int[] bounds : new int[][]{{0, 0}, {0, 10}, {5, 5}, {10, 20}, {20, 20}, {21, 30}, {-5, -1}}) {
+            Interval<Integer> interval = new Interval<>(bounds[0], bounds[1]);
+            tree.insert(interval);
+            expected.add(interval);
+        }
+        for (int point = -7; point <= 32; point++) {
+            assertEquals(scan(expected, point, point), list(tree.stab(point)), "stab " + point);
+            for (int to = point; to <= 32; to++) {
+                assertEquals(scan(expected, point, to), list(tree.overlapping(point, to)), "[" + point + ", " + to + "]");
+            }
+        }
+        assertEquals(List.of(new Interval<>(10, 20), new Interval<>(20, 20)), list(tree.stab(20)));
+        assertEquals(List.of(), list(new IntervalTree<Integer>().stab(0)));
+        assertThrows(IllegalArgumentException.class, () -> new Interval<>(2, 1));
+    }
+}
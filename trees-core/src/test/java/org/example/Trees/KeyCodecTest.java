@@ -0,0 +1,152 @@
+package org.example.Trees;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyCodecTest {
+    private static byte[] write(int[] keys, KeyCodec.Encoding encoding) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        KeyCodec.write(keys, out, encoding);
+        return out.toByteArray();
+    }
+
+    private static int[] read(byte[] bytes) throws IOException {
+        return KeyCodec.read(new ByteArrayInputStream(bytes));
+    }
+
+    private static int[] read(byte[] bytes, int from, int to) throws IOException {
+        return KeyCodec.read(new ByteArrayInputStream(bytes), from, to);
+    }
+
+    private static int[] inRange(int[] keys, int from, int to) {
+        return Arrays.stream(keys).filter(key -> key >= from && key < to).toArray();
+    }
+
+    @Test
+    void extremeGapsRoundTrip() throws IOException {
+        int[][] sets = {
+                {},
+                {Integer.MIN_VALUE},
+                {Integer.MAX_VALUE},
+                {Integer.MIN_VALUE, Integer.MAX_VALUE},
+                {Integer.MIN_VALUE, Integer.MIN_VALUE + 1, Integer.MAX_VALUE - 1, Integer.MAX_VALUE},
+                {Integer.MIN_VALUE, -1, 0, Integer.MAX_VALUE},
+                {Integer.MIN_VALUE, Integer.MAX_VALUE - 1},
+                {Integer.MIN_VALUE + 1, Integer.MAX_VALUE},
+        };
+        for (int[] keys : sets) {
+            for (KeyCodec.Encoding encoding : KeyCodec.Encoding.values()) {
+                byte[] bytes = write(keys, encoding);
+                String name = Arrays.toString(keys) + " " + encoding;
+                assertArrayEquals(keys, read(bytes), name);
+                assertArrayEquals(inRange(keys, Integer.MIN_VALUE, Integer.MAX_VALUE),
+                        read(bytes, Integer.MIN_VALUE, Integer.MAX_VALUE), name);
+                assertArrayEquals(inRange(keys, Integer.MIN_VALUE + 1, 0), read(bytes, Integer.MIN_VALUE + 1, 0), name);
+                assertArrayEquals(new int[0], read(bytes, Integer.MAX_VALUE, Integer.MAX_VALUE), name);
+            }
+        }
+    }
+
+    @Test
+    void keysCrowdedAtBothEndsRoundTrip() throws IOException {
+        Random random = new Random(2);
+        TreeSet<Integer> set = new TreeSet<>();
+        while (set.size() < 3000) {
+            set.add(random.nextBoolean() ? Integer.MIN_VALUE + random.nextInt(5000) : Integer.MAX_VALUE - random.nextInt(5000));
+        }
+        int[] keys = set.stream().mapToInt(Integer::intValue).toArray();
+        for (KeyCodec.Encoding encoding : KeyCodec.Encoding.values()) {
+            byte[] bytes = write(keys, encoding);
+            assertArrayEquals(keys, read(bytes), encoding.toString());
+            for (int i = 0; i < 50; i++) {
+                int from = keys[random.nextInt(keys.length)];
+                int to = keys[random.nextInt(keys.length)];
+                assertArrayEquals(inRange(keys, from, to), read(bytes, from, to), encoding + " [" + from + ", " + to + ")");
+            }
+        }
+    }
+
+    @Test
+    void randomKeySetsRoundTrip() throws IOException {
+        Random random = new Random(1);
+        for (int round = 0; round < 200; round++) {
+            int n = random.nextInt(round < 50 ? 5 : 3000);
+            TreeSet<Integer> set = new TreeSet<>();
+            while (set.size() < n) {
+                set.add(switch (round % 3) {
+                    case 0 -> random.nextInt();
+                    case 1 -> random.nextInt(3 * n + 1);
+                    default -> random.nextInt(1 << 20) - (1 << 19);
+                });
+            }
+            int[] keys = set.stream().mapToInt(Integer::intValue).toArray();
+            for (KeyCodec.Encoding encoding : KeyCodec.Encoding.values()) {
+                byte[] bytes = write(keys, encoding);
+                assertArrayEquals(keys, read(bytes), encoding + " round " + round);
+                int from = random.nextInt();
+                int to = random.nextInt();
+                if (n > 0 && round % 3 != 0) {
+                    from = keys[random.nextInt(n)];
+                    to = keys[random.nextInt(n)] + 1;
+                }
+                assertArrayEquals(inRange(keys, from, to), read(bytes, from, to), encoding + " round " + round);
+            }
+        }
+    }
+
+    @Test
+    void loadBuildsEveryTree() throws IOException {
+        Random random = new Random(4);
+        TreeSet<Integer> set = new TreeSet<>();
+        while (set.size() < 2000) set.add(random.nextInt(10000) - 5000);
+        set.add(Integer.MIN_VALUE);
+        set.add(Integer.MAX_VALUE);
+        AVLTree<Integer> source = new AVLTree<>();
+        for (int key : set) source.insert(key);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        KeyCodec.write(source, out);
+        byte[] bytes = out.toByteArray();
+
+        List<Tree<Integer>> targets = List.of(new AVLTree<>(), new AVLTree<>(null, true, true), new RedBlackTree<>(),
+                new ScapegoatTree<>(), new BinarySearchTree<>(), new SplayTree<>(), new TopDownRedBlackTree<>(),
+                new MinHeap<>(), new MaxHeap<>(), new AVLTreeMap<Integer, Object>(), new RedBlackTreeMap<Integer, Object>());
+        for (Tree<Integer> tree : targets) {
+            KeyCodec.load(new ByteArrayInputStream(bytes), tree);
+            List<Integer> values = new ArrayList<>(tree.inorderTraversal());
+            Collections.sort(values);
+            assertEquals(new ArrayList<>(set), values, tree.type());
+        }
+        AbstractBinarySearchTreeTest.checkAvl((AVLTree<Integer>) targets.get(0));
+        AbstractBinarySearchTreeTest.checkRedBlack((RedBlackTree<Integer>) targets.get(2));
+    }
+
+    @Test
+    void heapDuplicatesAreWrittenOnce() throws IOException {
+        MinHeap<Integer> heap = new MinHeap<>();
+        for (int value : new int[]{5, 5, 1, Integer.MAX_VALUE, Integer.MIN_VALUE}) heap.insert(value);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        KeyCodec.write(heap, out);
+        assertArrayEquals(new int[]{Integer.MIN_VALUE, 1, 5, Integer.MAX_VALUE}, read(out.toByteArray()));
+    }
+
+    @Test
+    void rejectsBadInput() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> write(new int[]{1, 1}, KeyCodec.Encoding.VARINT));
+        assertThrows(IllegalArgumentException.class, () -> write(new int[]{Integer.MAX_VALUE, Integer.MIN_VALUE}, KeyCodec.Encoding.SHORTEST));
+        assertThrows(IOException.class, () -> read(new byte[]{1, 2, 3, 4, 5}));
+
+        byte[] bytes = write(new int[]{1, 2, 3, 1000, 100000}, KeyCodec.Encoding.BIT_PACKED);
+        assertThrows(IOException.class, () -> read(Arrays.copyOf(bytes, bytes.length - 1)));
+    }
+}
@@ -0,0 +1,283 @@
+package org.example.Trees;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyLogTest {
+    @TempDir
+    Path directory;
+
+    private static TrackedTree<Integer> tree(TreeSet<Integer> expected, int n, Random random) {
+        TrackedTree<Integer> tree = new TrackedTree<>(new AVLTree<Integer>());
+        while (expected.size() < n) {
+            int value = random.nextInt(1 << 20);
+            tree.insert(value);
+            expected.add(value);
+        }
+        return tree;
+    }
+
+    private static void change(TrackedTree<Integer> tree, TreeSet<Integer> expected, Random random, int count) {
+        for (int i = 0; i < count; i++) {
+            int value = random.nextInt(1 << 20);
+            if (random.nextBoolean()) {
+                tree.insert(value);
+                expected.add(value);
+            } else {
+                Integer present = expected.ceiling(value);
+                if (present != null) {
+                    tree.delete(present);
+                    expected.remove(present);
+                }
+            }
+        }
+    }
+
+    private static int[] keys(TreeSet<Integer> expected) {
+        return expected.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // reopens the file and loads it into a fresh tree of another type
+    private static void assertReloads(Path file, TreeSet<Integer> expected) throws IOException {
+        try (KeyLog log = new KeyLog(file)) {
+            TrackedTree<Integer> loaded = new TrackedTree<>(new RedBlackTree<Integer>());
+            log.load(loaded);
+            assertEquals(new ArrayList<>(expected), loaded.inorderTraversal());
+            assertArrayEquals(keys(expected), log.readKeys());
+        }
+    }
+
+    @Test
+    void savesAppendDeltas() throws IOException {
+        Random random = new Random(1);
+        TreeSet<Integer> expected = new TreeSet<>();
+        TrackedTree<Integer> tree = tree(expected, 20000, random);
+        Path file = directory.resolve("tree.keylog");
+        try (KeyLog log = new KeyLog(file)) {
+            long full = log.save(tree);
+            assertEquals(0, log.deltaCount());
+            for (int save = 1; save <= 5; save++) {
+                change(tree, expected, random, 20);
+                long delta = log.save(tree);
+                assertEquals(save, log.deltaCount());
+                assertTrue(delta < full / 10, "delta of " + delta + " bytes after a full save of " + full);
+            }
+            assertEquals(Files.size(file), log.length());
+            assertArrayEquals(keys(expected), log.readKeys());
+        }
+        assertReloads(file, expected);
+    }
+
+    @Test
+    void compactionFoldsDeltasIntoFullSegment() throws Exception {
+        Random random = new Random(2);
+        TreeSet<Integer> expected = new TreeSet<>();
+        TrackedTree<Integer> tree = tree(expected, 20000, random);
+        Path file = directory.resolve("tree.keylog");
+        try (KeyLog log = new KeyLog(file)) {
+            log.save(tree);
+            for (int save = 0; save < 8; save++) {
+                change(tree, expected, random, 30);
+                log.save(tree);
+            }
+            long before = log.length();
+            log.compact().get();
+            assertEquals(0, log.deltaCount());
+            assertTrue(log.length() < before);
+            assertEquals(Files.size(file), log.length());
+            assertArrayEquals(keys(expected), log.readKeys());
+
+            // the tree still follows the compacted file
+            change(tree, expected, random, 30);
+            log.save(tree);
+            assertEquals(1, log.deltaCount());
+        }
+        assertReloads(file, expected);
+    }
+
+    @Test
+    void reopenedLogAppendsToLoadedTree() throws IOException {
+        Random random = new Random(3);
+        TreeSet<Integer> expected = new TreeSet<>();
+        TrackedTree<Integer> tree = tree(expected, 5000, random);
+        Path file = directory.resolve("tree.keylog");
+        try (KeyLog log = new KeyLog(file)) {
+            log.save(tree);
+            change(tree, expected, random, 10);
+            log.save(tree);
+        }
+        try (KeyLog log = new KeyLog(file)) {
+            assertEquals(1, log.deltaCount());
+            TrackedTree<Integer> loaded = new TrackedTree<>(new SplayTree<Integer>());
+            log.load(loaded);
+            change(loaded, expected, random, 10);
+            log.save(loaded);
+            assertEquals(2, log.deltaCount());
+
+            // the original tree no longer matches the end of the file, so it is saved in full
+            tree.insert(-5);
+            log.save(tree);
+            assertEquals(0, log.deltaCount());
+            expected.clear();
+            expected.addAll(tree.inorderTraversal());
+        }
+        assertReloads(file, expected);
+    }
+
+    @Test
+    void clearSavesInFull() throws IOException {
+        TreeSet<Integer> expected = new TreeSet<>();
+        TrackedTree<Integer> tree = tree(expected, 1000, new Random(4));
+        Path file = directory.resolve("tree.keylog");
+        try (KeyLog log = new KeyLog(file)) {
+            log.save(tree);
+            tree.insert(-1);
+            log.save(tree);
+            assertEquals(1, log.deltaCount());
+            tree.clear();
+            tree.insert(7);
+            log.save(tree);
+            assertEquals(0, log.deltaCount());
+        }
+        assertReloads(file, new TreeSet<>(List.of(7)));
+    }
+
+    @Test
+    void tornTailIsIgnoredAndOverwritten() throws IOException {
+        Random random = new Random(5);
+        TreeSet<Integer> expected = new TreeSet<>();
+        TrackedTree<Integer> tree = tree(expected, 2000, random);
+        Path file = directory.resolve("tree.keylog");
+        try (KeyLog log = new KeyLog(file)) {
+            log.save(tree);
+            change(tree, expected, random, 10);
+            log.save(tree);
+        }
+        long length = Files.size(file);
+        // a delta cut short by a crash
+        Files.write(file, new byte[]{0, 0, 0, 50, 1, 2, 3, 4, 5, 6}, StandardOpenOption.APPEND);
+
+        try (KeyLog log = new KeyLog(file)) {
+            assertEquals(length, log.length());
+            TrackedTree<Integer> loaded = new TrackedTree<>(new AVLTree<Integer>());
+            log.load(loaded);
+            assertEquals(new ArrayList<>(expected), loaded.inorderTraversal());
+            change(loaded, expected, random, 10);
+            log.save(loaded);
+            assertEquals(2, log.deltaCount());
+        }
+        assertReloads(file, expected);
+    }
+
+    // saves a full segment and one delta, returning the length of the file
+    private static long saveWithDelta(Path file, TreeSet<Integer> expected, Random random) throws IOException {
+        TrackedTree<Integer> tree = tree(expected, 2000, random);
+        try (KeyLog log = new KeyLog(file)) {
+            log.save(tree);
+            change(tree, expected, random, 10);
+            log.save(tree);
+        }
+        return Files.size(file);
+    }
+
+    // reopens a log whose tail after length is damaged and checks it is dropped
+    private static void assertTailIgnored(Path file, long length, TreeSet<Integer> expected, Random random) throws IOException {
+        try (KeyLog log = new KeyLog(file)) {
+            assertEquals(length, log.length());
+            TrackedTree<Integer> loaded = new TrackedTree<>(new AVLTree<Integer>());
+            log.load(loaded);
+            assertEquals(new ArrayList<>(expected), loaded.inorderTraversal());
+            change(loaded, expected, random, 10);
+            log.save(loaded);
+            assertEquals(Files.size(file), log.length());
+        }
+        assertReloads(file, expected);
+    }
+
+    @Test
+    void zeroFilledTailIsIgnored() throws IOException {
+        Random random = new Random(7);
+        TreeSet<Integer> expected = new TreeSet<>();
+        Path file = directory.resolve("tree.keylog");
+        long length = saveWithDelta(file, expected, random);
+        // the frame of an append got to disk but its body did not
+        ByteBuffer frame = ByteBuffer.allocate(8 + 100).putInt(100).putInt(0x12345678);
+        Files.write(file, frame.array(), StandardOpenOption.APPEND);
+        assertTailIgnored(file, length, expected, random);
+
+        Files.write(file, new byte[4096], StandardOpenOption.APPEND);
+        assertTailIgnored(file, Files.size(file) - 4096, expected, random);
+    }
+
+    @Test
+    void tailFailingCrcIsIgnored() throws IOException {
+        Random random = new Random(8);
+        TreeSet<Integer> before = new TreeSet<>();
+        Path file = directory.resolve("tree.keylog");
+        long withFull = saveWithDelta(file, before, random);
+        TreeSet<Integer> expected = new TreeSet<>(before);
+        TrackedTree<Integer> tree = new TrackedTree<>(new AVLTree<Integer>());
+        try (KeyLog log = new KeyLog(file)) {
+            log.load(tree);
+            change(tree, expected, random, 10);
+            log.save(tree);
+        }
+        // flip one byte in the body of the last delta
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 3] ^= 0x5A;
+        Files.write(file, bytes);
+        assertTailIgnored(file, withFull, before, random);
+    }
+
+    @Test
+    void savesWhileCompactingAreKept() throws Exception {
+        Random random = new Random(6);
+        TreeSet<Integer> expected = new TreeSet<>();
+        TrackedTree<Integer> tree = tree(expected, 200000, random);
+        Path file = directory.resolve("tree.keylog");
+        try (KeyLog log = new KeyLog(file)) {
+            log.save(tree);
+            List<Future<?>> compactions = new ArrayList<>();
+            for (int save = 0; save < 100; save++) {
+                change(tree, expected, random, 20);
+                log.save(tree);
+                if (save % 20 == 5) compactions.add(log.compact());
+            }
+            for (Future<?> compaction : compactions) compaction.get();
+            assertArrayEquals(keys(expected), log.readKeys());
+            // a compaction started by a save may have left later deltas; the second takes them all
+            log.compact().get();
+            log.compact().get();
+            assertEquals(0, log.deltaCount());
+        }
+        assertReloads(file, expected);
+        List<Path> left = new ArrayList<>();
+        try (var files = Files.list(directory)) {
+            files.forEach(left::add);
+        }
+        assertEquals(Collections.singletonList(file), left);
+    }
+
+    @Test
+    void loadingEmptyLogFails() throws IOException {
+        try (KeyLog log = new KeyLog(directory.resolve("missing.keylog"))) {
+            assertEquals(0, log.length());
+            assertArrayEquals(new int[0], log.readKeys());
+            assertThrows(IOException.class, () -> log.load(new TrackedTree<>(new AVLTree<Integer>())));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.Trees;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiQueueTest {
+    @Test
+    void singleThreadedDrainReturnsEveryValueOnce() {
+        Random random = new Random(1);
+        MultiQueue<Integer> queue = new MultiQueue<>(8);
+        List<Integer> offered = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            // duplicates must come back as often as they went in
+            int value = random.nextInt(5000);
+            queue.offer(value);
+            offered.add(value);
+        }
+        assertEquals(offered.size(), queue.size());
+        List<Integer> polled = new ArrayList<>();
+        for (int i = 0; i < offered.size(); i++) {
+            Integer value = queue.poll();
+            assertNotNull(value, "null with " + queue.size() + " queued");
+            polled.add(value);
+        }
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+        Collections.sort(offered);
+        Collections.sort(polled);
+        assertEquals(offered, polled);
+    }
+
+    @Test
+    void pollReturnsNullOnlyWhenEmpty() {
+        Random random = new Random(2);
+        MultiQueue<Integer> queue = new MultiQueue<>(16);
+        assertNull(queue.poll());
+        int queued = 0;
+        for (int i = 0; i < 100000; i++) {
+            // the queue stays small, so most shards are empty when polled
+            if (queued < 3 && random.nextBoolean()) {
+                queue.offer(random.nextInt());
+                queued++;
+            } else {
+                Integer value = queue.poll();
+                if (queued == 0) {
+                    assertNull(value);
+                } else {
+                    assertNotNull(value, "null with " + queued + " queued");
+                    queued--;
+                }
+            }
+            assertEquals(queued, queue.size());
+        }
+    }
+
+    @Test
+    void concurrentOffersAndPollsLoseAndDuplicateNothing() throws Exception {
+        int producers = 4, consumers = 4, perProducer = 50000;
+        MultiQueue<Integer> queue = new MultiQueue<>(8);
+        AtomicBoolean produced = new AtomicBoolean();
+        ExecutorService pool = Executors.newFixedThreadPool(producers + consumers);
+        try {
+            List<Future<?>> offering = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int first = p * perProducer;
+                offering.add(pool.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) queue.offer(first + i);
+                }));
+            }
+            List<Future<List<Integer>>> polling = new ArrayList<>();
+            for (int c = 0; c < consumers; c++) {
+                polling.add(pool.submit(() -> {
+                    List<Integer> taken = new ArrayList<>();
+                    // a null while producers run only means the shards looked empty
+                    while (true) {
+                        Integer value = queue.poll();
+                        if (value != null) taken.add(value);
+                        else if (produced.get()) return taken;
+                    }
+                }));
+            }
+            for (Future<?> future : offering) future.get();
+            produced.set(true);
+
+            int total = producers * perProducer;
+            boolean[] seen = new boolean[total];
+            int count = 0;
+            for (Future<List<Integer>> future : polling) {
+                for (int value : future.get()) {
+                    assertFalse(seen[value], "polled twice: " + value);
+                    seen[value] = true;
+                    count++;
+                }
+            }
+            // what the consumers left behind is drained with no other thread running
+            while (count < total) {
+                Integer value = queue.poll();
+                assertNotNull(value, "null with " + (total - count) + " queued");
+                assertFalse(seen[value], "polled twice: " + value);
+                seen[value] = true;
+                count++;
+            }
+            assertNull(queue.poll());
+            assertTrue(queue.isEmpty());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
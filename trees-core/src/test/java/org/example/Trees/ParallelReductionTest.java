@@ -0,0 +1,98 @@
+package org.example.Trees;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelReductionTest {
+    private static final int N = 8 * NodeSpliterator.GRAIN;
+
+    private static List<Tree<Integer>> trees() {
+        return List.of(new BinarySearchTree<>(), new AVLTree<>(), new AVLTree<>(null, true, true), new RedBlackTree<>(),
+                new ScapegoatTree<>(), new SplayTree<>(), new TopDownRedBlackTree<>(), new VanEmdeBoasTree(),
+                new ShardedTree<>(4, AVLTree::new), new MinHeap<>(), new MaxHeap<>(), new AVLTreeMap<Integer, Object>());
+    }
+
+    // compares the parallel reductions with the same reductions over a sequential pass
+    private static void assertReductionsMatch(Tree<Integer> tree) {
+        List<Integer> values = tree.inorderTraversal();
+        String name = tree.type();
+        for (int divisor : new int[]{1, 3, 1000}) {
+            Predicate<Integer> predicate = value -> value % divisor == 0;
+            assertEquals(values.stream().filter(predicate).count(), tree.parallelCount(predicate), name + " count");
+        }
+        assertEquals(values.stream().mapToLong(Integer::longValue).sum(), tree.parallelSum(Integer::longValue), name + " sum");
+        assertEquals(values.stream().mapToLong(value -> (long) value * value).sum(),
+                tree.parallelSum(value -> (long) value * value), name + " sum of squares");
+
+        Integer found = tree.parallelFindAny(value -> value % 1000 == 7);
+        if (values.stream().anyMatch(value -> value % 1000 == 7)) {
+            assertNotNull(found, name + " findAny");
+            assertEquals(7, found % 1000, name + " findAny");
+        } else {
+            assertNull(found, name + " findAny");
+        }
+        Integer target = values.get(values.size() / 3);
+        assertEquals(target, tree.parallelFindAny(target::equals), name + " findAny");
+        assertNull(tree.parallelFindAny(value -> value > Integer.MAX_VALUE - 1), name + " findAny");
+
+        if (!(tree instanceof Heap)) {
+            assertEquals(values, tree.parallelStream().collect(Collectors.toList()), name + " order");
+        }
+    }
+
+    @Test
+    void reductionsMatchSequentialResults() {
+        Random random = new Random(1);
+        int[] keys = random.ints(N, -1000000, 1000000).toArray();
+        for (Tree<Integer> tree : trees()) {
+            for (int key : keys) tree.insert(key);
+            assertTrue(tree.size() > NodeSpliterator.GRAIN, tree.type());
+            assertReductionsMatch(tree);
+        }
+        AVLTree<Integer> avl = new AVLTree<>();
+        for (int key : keys) avl.insert(key);
+        assertReductionsMatch(avl.freeze());
+    }
+
+    @Test
+    void skewedTreesMatchSequentialResults() {
+        // sorted inserts leave a path, so the halved size estimates are far off
+        BinarySearchTree<Integer> path = new BinarySearchTree<>();
+        SplayTree<Integer> splay = new SplayTree<>();
+        for (int i = 0; i < 3 * NodeSpliterator.GRAIN; i++) {
+            path.insert(i);
+            splay.insert(i);
+        }
+        assertReductionsMatch(path);
+        assertReductionsMatch(splay);
+    }
+
+    @Test
+    void largeTreesAreSplit() {
+        AVLTree<Integer> tree = new AVLTree<>();
+        for (int i = 0; i < N; i++) tree.insert(i);
+        Spliterator<Integer> suffix = tree.spliterator();
+        Spliterator<Integer> prefix = suffix.trySplit();
+        assertNotNull(prefix);
+        List<Integer> values = new ArrayList<>();
+        prefix.forEachRemaining(values::add);
+        int split = values.size();
+        suffix.forEachRemaining(values::add);
+        assertTrue(split > 0 && split < N, "split at " + split);
+        assertEquals(tree.inorderTraversal(), values);
+
+        AVLTree<Integer> small = new AVLTree<>();
+        for (int i = 0; i < NodeSpliterator.GRAIN; i++) small.insert(i);
+        assertNull(small.spliterator().trySplit());
+        assertEquals(0, new AVLTree<Integer>().parallelCount(value -> true));
+        assertNull(new RedBlackTree<Integer>().parallelFindAny(value -> true));
+    }
+}
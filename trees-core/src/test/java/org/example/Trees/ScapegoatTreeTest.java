@@ -0,0 +1,77 @@
+package org.example.Trees;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScapegoatTreeTest {
+    private static final double[] ALPHAS = {0.5, 0.6, ScapegoatTree.DEFAULT_ALPHA, 0.75, 0.9};
+
+    // An insert deeper than log_{1/alpha}(size) rebuilds, and deletes rebuild the whole
+    // tree before it shrinks below alpha of its largest size, which costs at most one
+    // more level; the height counts nodes, so one above the depth of the deepest node.
+    private static void checkHeight(ScapegoatTree<Integer> tree) {
+        int height = AbstractBinarySearchTreeTest.checkOrder(tree.getRoot(), null, null);
+        double bound = Math.log(Math.max(tree.size(), 1)) / Math.log(1 / tree.getAlpha()) + 3;
+        assertTrue(height <= bound, "height " + height + " of " + tree.size() + " values, alpha " + tree.getAlpha());
+    }
+
+    @Test
+    void heightStaysWithinAlphaBound() {
+        for (double alpha : ALPHAS) {
+            Random random = new Random(3);
+            ScapegoatTree<Integer> tree = new ScapegoatTree<>(alpha);
+            TreeSet<Integer> expected = new TreeSet<>();
+            for (int i = 0; i < 60000; i++) {
+                // grow, then shrink, so both kinds of rebuild happen
+                int value = random.nextInt(20000);
+                if (random.nextInt(10) < (i < 30000 ? 7 : 3)) {
+                    tree.insert(value);
+                    expected.add(value);
+                } else {
+                    assertEquals(expected.remove(value), tree.delete(value));
+                }
+                if (i % 50 == 0) checkHeight(tree);
+            }
+            assertEquals(new ArrayList<>(expected), tree.inorderTraversal());
+            checkHeight(tree);
+        }
+    }
+
+    @Test
+    void sortedInsertsAndDeletesStayWithinAlphaBound() {
+        for (double alpha : ALPHAS) {
+            ScapegoatTree<Integer> tree = new ScapegoatTree<>(alpha);
+            for (int i = 0; i < 20000; i++) {
+                tree.insert(i);
+                if (i % 50 == 0) checkHeight(tree);
+            }
+            checkHeight(tree);
+            List<Integer> values = new ArrayList<>(tree.inorderTraversal());
+            Collections.shuffle(values, new Random(4));
+            for (int i = 0; i < values.size(); i++) {
+                assertTrue(tree.delete(values.get(i)));
+                if (i % 50 == 0) checkHeight(tree);
+            }
+            assertEquals(0, tree.size());
+            assertNull(tree.getRoot());
+
+            // the tree is rebuilt from empty after every value is gone
+            for (int i = 20000; i > 0; i--) tree.insert(i);
+            checkHeight(tree);
+        }
+    }
+
+    @Test
+    void rejectsAlphaOutsideRange() {
+        assertThrows(IllegalArgumentException.class, () -> new ScapegoatTree<Integer>(0.49));
+        assertThrows(IllegalArgumentException.class, () -> new ScapegoatTree<Integer>(1.0));
+        assertThrows(IllegalArgumentException.class, () -> new ScapegoatTree<Integer>(Double.NaN));
+    }
+}
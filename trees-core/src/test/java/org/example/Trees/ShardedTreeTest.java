@@ -0,0 +1,138 @@
+package org.example.Trees;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedTreeTest {
+    private static ShardedTree<Integer> hashSharded() {
+        return new ShardedTree<>(4, AVLTree::new);
+    }
+
+    private static ShardedTree<Integer> rangeSharded() {
+        return new ShardedTree<>(List.of(-500, 0, 500), RedBlackTree::new);
+    }
+
+    private static List<Integer> list(Iterable<Integer> values) {
+        List<Integer> result = new ArrayList<>();
+        for (int value : values) result.add(value);
+        return result;
+    }
+
+    // TreeSet.subSet does not take open bounds
+    private static List<Integer> expectedRange(TreeSet<Integer> expected, Integer from, Integer to) {
+        if (from == null && to == null) return new ArrayList<>(expected);
+        if (from == null) return new ArrayList<>(expected.headSet(to));
+        if (to == null) return new ArrayList<>(expected.tailSet(from));
+        return new ArrayList<>(expected.subSet(from, to));
+    }
+
+    private static void fuzz(ShardedTree<Integer> tree) {
+        Random random = new Random(9);
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 50000; i++) {
+            int value = random.nextInt(2000) - 1000;
+            switch (random.nextInt(8)) {
+                case 0 -> assertEquals(expected.add(value), tree.insertIfAbsent(value));
+                case 1 -> assertEquals(expected.remove(value), tree.delete(value));
+                case 2 -> assertEquals(expected.remove(value) ? value : null, tree.deleteAndGet(value));
+                case 3 -> {
+                    assertEquals(value, tree.upsert(value, (old, added) -> old));
+                    expected.add(value);
+                }
+                case 4 -> {
+                    assertEquals(value, tree.computeIfAbsent(value, key -> key));
+                    expected.add(value);
+                }
+                case 5 -> {
+                    List<Integer> batch = new ArrayList<>();
+                    for (int j = 0; j < 20; j++) batch.add(random.nextInt(2000) - 1000);
+                    int added = 0;
+                    for (int key : batch) if (expected.add(key)) added++;
+                    assertEquals(added, tree.insertAll(batch));
+                }
+                default -> {
+                    assertEquals(expected.contains(value), tree.contains(value));
+                    assertEquals(expected.floor(value), tree.floor(value), "floor " + value);
+                    assertEquals(expected.lower(value), tree.lower(value), "lower " + value);
+                    assertEquals(expected.ceiling(value), tree.ceiling(value), "ceiling " + value);
+                    assertEquals(expected.higher(value), tree.higher(value), "higher " + value);
+                    assertEquals(expected.isEmpty() ? null : expected.first(), tree.first());
+                    assertEquals(expected.isEmpty() ? null : expected.last(), tree.last());
+                }
+            }
+            assertEquals(expected.size(), tree.size());
+            if (i % 97 == 0) {
+                int from = random.nextInt(2200) - 1100;
+                int to = from + random.nextInt(1200);
+                assertEquals(expectedRange(expected, from, to), list(tree.subRange(from, to)), "[" + from + ", " + to + ")");
+                assertEquals(new ArrayList<>(expected), tree.inorderTraversal());
+            }
+        }
+        tree.clear();
+        assertEquals(0, tree.size());
+        assertNull(tree.first());
+        assertEquals(List.of(), tree.inorderTraversal());
+    }
+
+    @Test
+    void hashShardsMatchTreeSet() {
+        fuzz(hashSharded());
+    }
+
+    @Test
+    void rangeShardsMatchTreeSet() {
+        fuzz(rangeSharded());
+    }
+
+    @Test
+    void subRangeSpansShardsAndChunks() {
+        // about 1000 values per shard, read 256 at a time
+        int[] bounds = {-3000, -2001, -1000, -501, -500, -499, -256, -255, -1, 0, 1, 255, 256, 257, 499, 500, 511, 512,
+                1000, 1999, 2000, 3000};
+        for (ShardedTree<Integer> tree : List.of(hashSharded(), rangeSharded())) {
+            TreeSet<Integer> expected = new TreeSet<>();
+            for (int i = -2000; i < 2000; i++) {
+                tree.insert(i);
+                expected.add(i);
+            }
+            assertEquals(expectedRange(expected, null, null), list(tree.subRange(null, null)));
+            for (int from : bounds) {
+                assertEquals(expectedRange(expected, from, null), list(tree.subRange(from, null)), "from " + from);
+                assertEquals(expectedRange(expected, null, from), list(tree.subRange(null, from)), "to " + from);
+                for (int to : bounds) {
+                    if (from > to) continue;
+                    assertEquals(expectedRange(expected, from, to), list(tree.subRange(from, to)), "[" + from + ", " + to + ")");
+                }
+            }
+        }
+    }
+
+    @Test
+    void subRangeIsWeaklyConsistent() {
+        for (ShardedTree<Integer> tree : List.of(hashSharded(), rangeSharded())) {
+            Random random = new Random(3);
+            // even values stay for the whole iteration, odd ones come and go
+            for (int i = -2000; i < 2000; i += 2) tree.insert(i);
+            List<Integer> seen = new ArrayList<>();
+            Iterator<Integer> values = tree.subRange(-1900, 1900).iterator();
+            while (values.hasNext()) {
+                seen.add(values.next());
+                int odd = 2 * random.nextInt(2000) - 1999;
+                if (random.nextBoolean()) tree.insert(odd);
+                else tree.delete(odd);
+            }
+            for (int i = 1; i < seen.size(); i++) {
+                assertTrue(seen.get(i - 1) < seen.get(i), "order at " + seen.get(i));
+            }
+            for (int i = -1900; i < 1900; i += 2) assertTrue(seen.contains(i), "missing " + i);
+            for (int value : seen) assertTrue(value >= -1900 && value < 1900, "outside range " + value);
+        }
+    }
+}
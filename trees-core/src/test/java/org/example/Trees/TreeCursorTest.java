@@ -0,0 +1,159 @@
+package org.example.Trees;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreeCursorTest {
+    private static List<Tree<Integer>> trees() {
+        return List.of(new BinarySearchTree<>(), new AVLTree<>(), new AVLTree<>(null, true, true), new RedBlackTree<>(),
+                new ScapegoatTree<>(), new SplayTree<>(), new TopDownRedBlackTree<>(), new AVLTreeMap<Integer, Object>(),
+                new MinHeap<>(), new MaxHeap<>());
+    }
+
+    // inorder walk that only moves the cursor; fromRight[d] tells whether depth d was entered from the right
+    private static List<Integer> inorder(TreeCursor<Integer> cursor) {
+        List<Integer> result = new ArrayList<>();
+        if (!cursor.toRoot()) return result;
+        boolean[] fromRight = new boolean[64];
+        while (cursor.toLeft()) fromRight = entered(fromRight, cursor.depth(), false);
+        while (true) {
+            result.add(cursor.value());
+            if (cursor.toRight()) {
+                fromRight = entered(fromRight, cursor.depth(), true);
+                while (cursor.toLeft()) fromRight = entered(fromRight, cursor.depth(), false);
+                continue;
+            }
+            // climb past every node whose right subtree is done
+            while (cursor.depth() > 0 && fromRight[cursor.depth()]) assertTrue(cursor.toParent());
+            if (cursor.depth() == 0) return result;
+            assertTrue(cursor.toParent());
+        }
+    }
+
+    private static boolean[] entered(boolean[] fromRight, int depth, boolean right) {
+        if (depth == fromRight.length) fromRight = Arrays.copyOf(fromRight, 2 * depth);
+        fromRight[depth] = right;
+        return fromRight;
+    }
+
+    private static void inorder(TreeNode<Integer> node, List<Integer> out) {
+        if (node == null) return;
+        inorder(node.getLeft(), out);
+        out.add(node.getValue());
+        inorder(node.getRight(), out);
+    }
+
+    // preorder description of the nodes with their depth and color, read through TreeNode
+    private static void describe(TreeNode<Integer> node, int depth, StringBuilder out) {
+        if (node == null) {
+            out.append('.');
+            return;
+        }
+        out.append(node.getValue()).append('@').append(depth).append(node.getColor()).append('(');
+        describe(node.getLeft(), depth + 1, out);
+        describe(node.getRight(), depth + 1, out);
+        out.append(')');
+    }
+
+    // the same description read through the cursor, which is left where it started
+    private static void describe(TreeCursor<Integer> cursor, StringBuilder out) {
+        out.append(cursor.value()).append('@').append(cursor.depth()).append(cursor.color()).append('(');
+        boolean left = cursor.hasLeft();
+        assertEquals(left, cursor.toLeft());
+        if (left) {
+            describe(cursor, out);
+            assertTrue(cursor.toParent());
+        } else {
+            out.append('.');
+        }
+        boolean right = cursor.hasRight();
+        assertEquals(right, cursor.toRight());
+        if (right) {
+            describe(cursor, out);
+            assertTrue(cursor.toParent());
+        } else {
+            out.append('.');
+        }
+        out.append(')');
+    }
+
+    private static void assertCursorMatches(Tree<Integer> tree) {
+        TreeCursor<Integer> cursor = tree.cursor();
+        List<Integer> walked = inorder(cursor);
+        List<Integer> nodeOrder = new ArrayList<>();
+        inorder(tree.getRoot(), nodeOrder);
+        assertEquals(nodeOrder, walked, tree.type());
+        // a heap's nodes are not in search order
+        if (!(tree instanceof Heap)) assertEquals(tree.inorderTraversal(), walked, tree.type());
+        StringBuilder nodes = new StringBuilder(), moves = new StringBuilder();
+        describe(tree.getRoot(), 0, nodes);
+        if (cursor.toRoot()) describe(cursor, moves);
+        else moves.append('.');
+        assertEquals(nodes.toString(), moves.toString(), tree.type());
+    }
+
+    @Test
+    void cursorWalkMatchesInorderTraversal() {
+        Random random = new Random(5);
+        for (Tree<Integer> tree : trees()) {
+            assertCursorMatches(tree);
+            for (int i = 0; i < 3000; i++) {
+                tree.insert(random.nextInt(10000));
+                if (i % 500 == 0) assertCursorMatches(tree);
+            }
+            for (int i = 0; i < 1000; i++) tree.delete(random.nextInt(10000));
+            assertCursorMatches(tree);
+            AVLTree<Integer> copy = new AVLTree<>();
+            for (int value : tree.inorderTraversal()) copy.insert(value);
+            assertCursorMatches(copy.freeze());
+        }
+    }
+
+    @Test
+    void cursorGrowsPathOnDeepTrees() {
+        // sorted inserts into a plain search tree leave a path far deeper than the initial 32 slots
+        BinarySearchTree<Integer> tree = new BinarySearchTree<>();
+        for (int i = 0; i < 500; i++) tree.insert(i);
+        assertCursorMatches(tree);
+        TreeCursor<Integer> cursor = tree.cursor();
+        int steps = 0;
+        while (cursor.toRight()) steps++;
+        assertEquals(499, steps);
+        assertEquals(499, cursor.depth());
+        assertEquals(499, cursor.value());
+        while (cursor.toParent()) steps--;
+        assertEquals(0, steps);
+        assertEquals(0, cursor.depth());
+        assertEquals(0, cursor.value());
+    }
+
+    @Test
+    void movesAtTheEdgesLeaveCursorInPlace() {
+        assertFalse(new AVLTree<Integer>().cursor().toRoot());
+        assertFalse(new MinHeap<Integer>().cursor().toRoot());
+        for (Tree<Integer> tree : trees()) {
+            tree.insert(2);
+            tree.insert(1);
+            TreeCursor<Integer> cursor = tree.cursor();
+            assertTrue(cursor.toRoot());
+            assertFalse(cursor.toParent());
+            Integer root = cursor.value();
+            assertEquals(0, cursor.depth());
+            // descend to the only leaf, then try to go further
+            assertTrue(cursor.toLeft() || cursor.toRight(), tree.type());
+            Integer leaf = cursor.value();
+            assertFalse(cursor.toLeft());
+            assertFalse(cursor.toRight());
+            assertEquals(leaf, cursor.value());
+            assertEquals(1, cursor.depth());
+            assertTrue(cursor.toParent());
+            assertEquals(root, cursor.value());
+        }
+    }
+}
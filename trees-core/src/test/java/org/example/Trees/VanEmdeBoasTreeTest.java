@@ -0,0 +1,79 @@
+package org.example.Trees;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VanEmdeBoasTreeTest {
+    // compares every query at key with the TreeSet
+    private static void assertQueries(VanEmdeBoasTree tree, TreeSet<Integer> expected, int key) {
+        String at = "at " + key;
+        assertEquals(expected.contains(key), tree.contains(key), at);
+        assertEquals(expected.ceiling(key), tree.ceiling(key), at);
+        assertEquals(expected.higher(key), tree.higher(key), at);
+        assertEquals(expected.floor(key), tree.floor(key), at);
+        assertEquals(expected.lower(key), tree.lower(key), at);
+        assertEquals(expected.isEmpty() ? null : expected.first(), tree.first());
+        assertEquals(expected.isEmpty() ? null : expected.last(), tree.last());
+    }
+
+    @Test
+    void matchesTreeSet() {
+        // dense keys share clusters, sparse ones spread over the summaries
+        for (int range : new int[]{50, 300, 70000, 5000000, 0}) {
+            Random random = new Random(range);
+            VanEmdeBoasTree tree = new VanEmdeBoasTree();
+            TreeSet<Integer> expected = new TreeSet<>();
+            for (int i = 0; i < 100000; i++) {
+                int key;
+                if (random.nextInt(8) == 0) key = random.nextBoolean() ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+                else if (range == 0) key = random.nextInt();
+                else key = random.nextBoolean() ? random.nextInt(range) : -random.nextInt(range);
+                switch (random.nextInt(6)) {
+                    case 0, 1 -> assertEquals(expected.add(key), tree.insertIfAbsent(key), "insert " + key);
+                    case 2 -> assertEquals(expected.remove(key), tree.delete(key), "delete " + key);
+                    case 3 -> assertEquals(expected.remove(key) ? key : null, tree.deleteAndGet(key), "delete " + key);
+                    default -> assertQueries(tree, expected, key);
+                }
+                assertEquals(expected.size(), tree.size());
+            }
+            assertEquals(new ArrayList<>(expected), tree.inorderTraversal());
+            List<Integer> range1000 = new ArrayList<>();
+            for (int key : tree.subRange(-1000, 1000)) range1000.add(key);
+            assertEquals(new ArrayList<>(expected.subSet(-1000, 1000)), range1000);
+            for (Integer key : new ArrayList<>(expected)) assertTrue(tree.delete(key));
+            assertEquals(0, tree.size());
+            assertNull(tree.first());
+            assertNull(tree.last());
+        }
+    }
+
+    @Test
+    void extremeKeys() {
+        int[] keys = {Integer.MIN_VALUE, Integer.MIN_VALUE + 1, -1, 0, 1, Integer.MAX_VALUE - 1, Integer.MAX_VALUE};
+        int[] probes = {Integer.MIN_VALUE, Integer.MIN_VALUE + 1, Integer.MIN_VALUE + 2, -2, -1, 0, 1, 2,
+                Integer.MAX_VALUE - 2, Integer.MAX_VALUE - 1, Integer.MAX_VALUE};
+        VanEmdeBoasTree tree = new VanEmdeBoasTree();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int probe : probes) assertQueries(tree, expected, probe);
+        // add the keys one at a time from both ends, then take them away again
+        for (int i = 0; i < keys.length; i++) {
+            int key = keys[i % 2 == 0 ? i / 2 : keys.length - 1 - i / 2];
+            tree.insert(key);
+            expected.add(key);
+            for (int probe : probes) assertQueries(tree, expected, probe);
+        }
+        assertEquals(new ArrayList<>(expected), tree.inorderTraversal());
+        for (int key : keys) {
+            assertTrue(tree.delete(key));
+            expected.remove(key);
+            for (int probe : probes) assertQueries(tree, expected, probe);
+        }
+        assertEquals(0, tree.size());
+    }
+}
@@ -0,0 +1,11 @@
+module org.example.Trees.visualizer {
+    requires javafx.controls;
+    requires javafx.fxml;
+    requires java.desktop;
+    requires org.example.Trees;
+
+
+    opens org.example.Trees.visualizer to javafx.fxml;
+    exports org.example.Trees.visualizer;
+    requires transitive javafx.graphics;
+}
\ No newline at end of file
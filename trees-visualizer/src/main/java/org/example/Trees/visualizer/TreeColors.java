@@ -0,0 +1,43 @@
+package org.example.Trees.visualizer;
+
+import javafx.scene.paint.Color;
+import org.example.Trees.Tree;
+
+/**
+ * Decides how trees are colored on screen. The trees themselves only report
+ * their type() and per-node getColor() strings, so that trees-core does not
+ * depend on JavaFX.
+ */
+public final class TreeColors {
+    private TreeColors() {
+    }
+
+    /**
+     * Returns the fill color used for every node of a tree type.
+     * @param tree the tree being drawn
+     */
+    public static Color of(Tree<?> tree) {
+        switch (tree.type()) {
+            case "AVL":
+            case "WAVL":
+            case "AVL Map": return Color.GREEN;
+            case "RBT": return Color.BLUE;
+            case "Splay Tree": return Color.ORANGE;
+            case "Minimum Heap": return Color.BLUE;
+            case "Maximum Heap": return Color.PURPLE;
+            default: return Color.BLACK;
+        }
+    }
+
+    /**
+     * Returns the fill color for one node. Nodes which carry a red-black
+     * color are drawn in it, all others use the color of their tree.
+     * @param tree the tree being drawn
+     * @param nodeColor the value of TreeNode.getColor() for the node
+     */
+    public static Color of(Tree<?> tree, String nodeColor) {
+        if ("RED".equals(nodeColor)) return Color.RED;
+        if ("BLACK".equals(nodeColor)) return Color.BLACK;
+        return of(tree);
+    }
+}
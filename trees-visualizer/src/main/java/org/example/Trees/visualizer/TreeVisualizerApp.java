@@ -1,4 +1,4 @@
-package org.example.Trees;
+package org.example.Trees.visualizer;
 //Auther: Abdelnasser Ouda
 import javafx.application.Application;
 import javafx.scene.Scene;
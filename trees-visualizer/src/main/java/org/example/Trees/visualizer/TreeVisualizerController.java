@@ -0,0 +1,714 @@
+package org.example.Trees.visualizer;
+//Auther: Abdelnasser Ouda
+import javafx.scene.canvas.Canvas;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextArea;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.*;
+import javafx.scene.control.*;
+import javafx.scene.canvas.*;
+import javafx.scene.paint.Color;
+import javafx.concurrent.Task;
+import javafx.geometry.Insets;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+import org.example.Trees.*;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class TreeVisualizerController {
+    private VBox view;
+    private ComboBox<String> treeTypeComboBox;
+    private TextField inputField;
+    private Button insertButton, deleteButton, searchButton, clearButton;
+    private Canvas treeCanvas;
+    private TextArea outputArea;
+
+    // the integer trees record their changes, so saving to a key log appends only those
+    private TrackedTree<Integer> currentTree;
+    private Map<String, TrackedTree<Integer>> trees;
+    // intervals are not integers, so the interval tree is kept apart from the trees map
+    private static final String INTERVAL_TREE = "Interval Tree";
+    private static final String KEY_FILE_EXTENSION = ".keys";
+    private static final String KEY_LOG_EXTENSION = ".keylog";
+    // log of the last key log file saved or loaded, kept open so saves can append to it
+    private KeyLog keyLog;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int PREVIEW_VALUES = 20;
+    // the save or load running in the background, or null
+    private Transfer<?> transfer;
+    private ProgressBar progressBar;
+    private Button cancelButton;
+    private HBox transferBox;
+    private IntervalTree<Integer> intervalTree = new IntervalTree<>();
+    private boolean intervalMode;
+    // set while the combo box is changed from code, which must not switch trees itself
+    private boolean selectingType;
+
+    private Stage stage;  // You'll need to set this when creating the controller
+
+    public void setStage(Stage stage) {
+        this.stage = stage;
+    }
+
+    public TreeVisualizerController() {
+        initializeTrees();
+        initializeView();
+        setupEventHandlers();
+    }
+
+    private void initializeTrees() {
+        trees = new HashMap<>();
+        trees.put("Binary Search Tree", new TrackedTree<>(new BinarySearchTree<Integer>()));
+        trees.put("AVL Tree", new TrackedTree<>(new AVLTree<Integer>()));
+        trees.put("WAVL Tree", new TrackedTree<>(new AVLTree<Integer>(null, false, true)));
+        trees.put("Red-Black Tree", new TrackedTree<>(new RedBlackTree<Integer>()));
+        trees.put("Top-Down Red-Black Tree", new TrackedTree<>(new TopDownRedBlackTree<Integer>()));
+        trees.put("AVL Map", new TrackedTree<>(new AVLTreeMap<Integer, Object>()));
+        trees.put("Red-Black Map", new TrackedTree<>(new RedBlackTreeMap<Integer, Object>()));
+        trees.put("Splay Tree", new TrackedTree<>(new SplayTree<Integer>()));
+        trees.put("Scapegoat Tree", new TrackedTree<>(new ScapegoatTree<Integer>()));
+        trees.put("Min Heap", new TrackedTree<>(new MinHeap<Integer>()));
+        trees.put("Max Heap", new TrackedTree<>(new MaxHeap<Integer>()));
+        //trees.put("2-4 Tree", new Tree24<>());
+        currentTree = trees.get("Binary Search Tree");
+    }
+
+    private void initializeView() {
+        view = new VBox(10);
+        view.setPadding(new Insets(10));
+
+        treeTypeComboBox = new ComboBox<>();
+        treeTypeComboBox.getItems().addAll(trees.keySet());
+        treeTypeComboBox.getItems().add(INTERVAL_TREE);
+        treeTypeComboBox.setValue("Binary Search Tree");
+
+        inputField = new TextField();
+        insertButton = new Button("Insert");
+        deleteButton = new Button("Delete");
+        searchButton = new Button("Search");
+        clearButton = new Button("Clear");
+
+        HBox buttonBox = new HBox(10, insertButton, deleteButton, searchButton, clearButton);
+
+        treeCanvas = new Canvas(1000, 475);
+
+        outputArea = new TextArea();
+        outputArea.setEditable(false);
+        outputArea.setMinHeight(100);
+        outputArea.setStyle("-fx-border-color: black; -fx-background-color: lightgray;");
+
+        progressBar = new ProgressBar(0);
+        cancelButton = new Button("Cancel");
+        transferBox = new HBox(10, progressBar, cancelButton);
+        transferBox.setVisible(false);
+
+        view.getChildren().addAll(
+                new HBox(10, new Label("Tree Type:"), treeTypeComboBox),
+                new HBox(10, new Label("Value:"), inputField),
+                buttonBox,
+                treeCanvas,
+                transferBox,
+                outputArea
+        );
+    }
+
+    private void setupEventHandlers() {
+        insertButton.setOnAction(e -> handleInsert());
+        deleteButton.setOnAction(e -> handleDelete());
+        searchButton.setOnAction(e -> handleSearch());
+        clearButton.setOnAction(e -> handleClear());
+        treeTypeComboBox.setOnAction(e -> handleTreeTypeChange());
+        cancelButton.setOnAction(e -> {
+            if (transfer != null) transfer.requestCancel();
+        });
+    }
+
+    private void handleInsert() {
+        if (intervalMode) {
+            handleIntervalInsert();
+            return;
+        }
+        try {
+            int value = Integer.parseInt(inputField.getText());
+            if (currentTree.insertIfAbsent(value)) {
+                updateTreeVisualization();
+                outputArea.appendText("Inserted: " + value + "\n");
+            } else
+                outputArea.appendText("The value " + value + " already in the tree.\n");
+
+        } catch (NumberFormatException ex) {
+            outputArea.appendText("Invalid input. Please enter an integer.\n");
+        }
+    }
+
+    private void handleDelete() {
+        if (intervalMode) {
+            handleIntervalDelete();
+            return;
+        }
+        try {
+            int value = Integer.parseInt(inputField.getText());
+            boolean deleted = currentTree.delete(value);
+            updateTreeVisualization();
+            outputArea.appendText(deleted ? "Deleted: " + value + "\n" : "Value not found: " + value + "\n");
+        } catch (NumberFormatException ex) {
+            outputArea.appendText("Invalid input. Please enter an integer.\n");
+        }
+    }
+
+    private void handleSearch() {
+        if (intervalMode) {
+            handleIntervalSearch();
+            return;
+        }
+        try {
+            int value = Integer.parseInt(inputField.getText());
+            boolean found = currentTree.contains(value);
+            outputArea.appendText(found ? "Found: " + value + "\n" : "Not found: " + value + "\n");
+        } catch (NumberFormatException ex) {
+            outputArea.appendText("Invalid input. Please enter an integer.\n");
+        }
+    }
+
+    private void handleClear() {
+        shownTree().clear();
+        updateTreeVisualization();
+        outputArea.appendText("Tree cleared.\n");
+    }
+
+    private void handleTreeTypeChange() {
+        if (selectingType) return;
+        String selectedType = treeTypeComboBox.getValue();
+        intervalMode = INTERVAL_TREE.equals(selectedType);
+        if (!intervalMode) currentTree = trees.get(selectedType);
+        updateTreeVisualization();
+        outputArea.appendText("Switched to " + selectedType + "\n");
+    }
+
+    // Intervals are typed as "start,end"; a single number searches for the intervals containing it
+    private void handleIntervalInsert() {
+        try {
+            Interval<Integer> interval = parseInterval(inputField.getText());
+            if (intervalTree.insertIfAbsent(interval)) {
+                updateTreeVisualization();
+                outputArea.appendText("Inserted: " + interval + "\n");
+            } else
+                outputArea.appendText("The interval " + interval + " already in the tree.\n");
+        } catch (IllegalArgumentException ex) {
+            outputArea.appendText("Invalid input. Please enter an interval as start,end.\n");
+        }
+    }
+
+    private void handleIntervalDelete() {
+        try {
+            Interval<Integer> interval = parseInterval(inputField.getText());
+            boolean deleted = intervalTree.delete(interval);
+            updateTreeVisualization();
+            outputArea.appendText(deleted ? "Deleted: " + interval + "\n" : "Interval not found: " + interval + "\n");
+        } catch (IllegalArgumentException ex) {
+            outputArea.appendText("Invalid input. Please enter an interval as start,end.\n");
+        }
+    }
+
+    private void handleIntervalSearch() {
+        try {
+            String text = inputField.getText();
+            Iterable<Interval<Integer>> found;
+            if (text.contains(",")) {
+                Interval<Integer> query = parseInterval(text);
+                found = intervalTree.overlapping(query.getStart(), query.getEnd());
+            } else {
+                found = intervalTree.stab(Integer.parseInt(text.trim()));
+            }
+            List<Interval<Integer>> result = new ArrayList<>();
+            found.forEach(result::add);
+            outputArea.appendText(result.isEmpty() ? "No overlapping intervals.\n" : "Overlapping: " + result + "\n");
+        } catch (IllegalArgumentException ex) {
+            outputArea.appendText("Invalid input. Please enter a point or an interval as start,end.\n");
+        }
+    }
+
+    private Interval<Integer> parseInterval(String text) {
+        String[] parts = text.split(",");
+        if (parts.length != 2) throw new IllegalArgumentException("Expected start,end: " + text);
+        return new Interval<>(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+    }
+
+    // the tree on screen, which is either one of the integer trees or the interval tree
+    private Tree<?> shownTree() {
+        return intervalMode ? intervalTree : currentTree;
+    }
+
+    private void updateTreeVisualization() {
+        GraphicsContext gc = treeCanvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, treeCanvas.getWidth(), treeCanvas.getHeight());
+
+        // one cursor serves the whole render, so drawing allocates nothing per node
+        Tree<?> tree = shownTree();
+        TreeCursor<?> cursor = tree.cursor();
+        if (cursor.toRoot()) {
+            int depth = getTreeDepth(cursor);
+            int width = getTreeWidth(cursor);
+
+            double verticalSpacing = (treeCanvas.getHeight()) / (depth + tree.size() / 3);
+            double horizontalSpacing = treeCanvas.getWidth() / (width + tree.size() / 2);
+
+            drawTree(gc, cursor, treeCanvas.getWidth() / 2, 40, horizontalSpacing, verticalSpacing, width);
+        } else {
+            outputArea.appendText("Tree is empty or null.\n");
+        }
+    }
+
+    private void drawTree(GraphicsContext gc, TreeCursor<?> cursor, double x, double y, double hSpacing, double vSpacing, int width) {
+        if (!cursor.toRoot()) return;
+
+       // if you implement 24Tree, you need to create draw24Tree and all other needed methods
+       drawNormalTree(gc, cursor, treeCanvas.getWidth() / 2, 40, hSpacing, vSpacing, width);
+
+    }
+
+    private void drawNormalTree(GraphicsContext gc, TreeCursor<?> cursor, double x, double y, double hSpacing, double vSpacing, int width) {
+        gc.setFill(TreeColors.of(shownTree(), cursor.color()));
+
+        gc.fillOval(x - 15, y - 15, 40, 40);
+        gc.setFill(Color.GHOSTWHITE);
+        gc.fillText(cursor.value().toString(), x - 10, y + 10);
+
+        // Draw left subtree
+        if (cursor.toLeft()) {
+            int leftWidth = getTreeWidth(cursor);
+            double newX = x - (width - leftWidth / 3) * hSpacing / 3;
+            double newY = y + vSpacing;
+            gc.strokeLine(x + 5, y + 24, newX, newY);
+            drawNormalTree(gc, cursor, newX, newY, hSpacing, vSpacing, leftWidth);
+            cursor.toParent();
+        }
+
+        // Draw right subtree
+        if (cursor.toRight()) {
+            int rightWidth = getTreeWidth(cursor);
+            double newX = x + (width - rightWidth / 3) * hSpacing / 3;
+            double newY = y + vSpacing;
+            gc.strokeLine(x + 5, y + 24, newX, newY);
+            drawNormalTree(gc, cursor, newX, newY, hSpacing, vSpacing, rightWidth);
+            cursor.toParent();
+        }
+    }
+
+    // the cursor is left on the node it started from
+    private int getTreeDepth(TreeCursor<?> cursor) {
+        int depth = 0;
+        if (cursor.toLeft()) {
+            depth = getTreeDepth(cursor);
+            cursor.toParent();
+        }
+        if (cursor.toRight()) {
+            depth = Math.max(depth, getTreeDepth(cursor));
+            cursor.toParent();
+        }
+        return 1 + depth;
+    }
+
+    private int getTreeWidth(TreeCursor<?> cursor) {
+        if (!cursor.hasLeft() && !cursor.hasRight()) return 1;
+        int width = 0;
+        if (cursor.toLeft()) {
+            width += getTreeWidth(cursor);
+            cursor.toParent();
+        }
+        if (cursor.toRight()) {
+            width += getTreeWidth(cursor);
+            cursor.toParent();
+        }
+        return width;
+    }
+
+    public VBox getView() {
+        return view;
+    }
+
+    public void saveTree() {
+        if (transferRunning()) return;
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Save Tree");
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Tree Files", "*.tree"),
+                new FileChooser.ExtensionFilter("Compressed Key Files", "*" + KEY_FILE_EXTENSION),
+                new FileChooser.ExtensionFilter("Incremental Key Logs", "*" + KEY_LOG_EXTENSION)
+        );
+        File file = fileChooser.showSaveDialog(stage);
+
+        if (file != null && isKeyFile(file)) {
+            saveKeys(file);
+        } else if (file != null && isKeyLog(file)) {
+            saveKeyLog(file);
+        } else if (file != null) {
+            // the tracking wrapper is not saved, so the file holds the tree itself
+            Tree<?> tree = intervalMode ? intervalTree : currentTree.getTree();
+            outputArea.appendText("Saving tree " + preview(tree) + ".\n");
+            startTransfer("saving tree", transfer -> {
+                writeReplacing(file, transfer, stream -> {
+                    ObjectOutputStream out = new ObjectOutputStream(stream);
+                    out.writeObject(tree);
+                    out.flush();
+                });
+                return null;
+            }, result -> outputArea.appendText("Tree saved successfully.\n"));
+        }
+    }
+
+    public void loadTree() {
+        if (transferRunning()) return;
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Load Tree");
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Tree Files", "*.tree"),
+                new FileChooser.ExtensionFilter("Compressed Key Files", "*" + KEY_FILE_EXTENSION),
+                new FileChooser.ExtensionFilter("Incremental Key Logs", "*" + KEY_LOG_EXTENSION)
+        );
+        File file = fileChooser.showOpenDialog(stage);
+
+        if (file != null && isKeyFile(file)) {
+            loadKeys(file);
+        } else if (file != null && isKeyLog(file)) {
+            loadKeyLog(file);
+        } else if (file != null) {
+            startTransfer("loading tree", transfer -> {
+                try (ObjectInputStream in = new ObjectInputStream(transfer.read(file))) {
+                    return in.readObject();
+                }
+            }, this::showLoadedTree);
+        }
+    }
+
+    // Runs on the FX thread once a .tree file has been read in the background
+    private void showLoadedTree(Object loadedObject) {
+        if (!(loadedObject instanceof Tree)) {
+            outputArea.appendText("Error: Loaded object is not a valid Tree.\n");
+            return;
+        }
+
+        if (loadedObject instanceof IntervalTree) {
+            @SuppressWarnings("unchecked")
+            IntervalTree<Integer> loadedIntervals = (IntervalTree<Integer>) loadedObject;
+            intervalTree = loadedIntervals;
+            selectTreeType(INTERVAL_TREE);
+            intervalMode = true;
+            outputArea.appendText("Tree loaded successfully.\n");
+            outputArea.appendText("Tree contents: " + preview(intervalTree) + "\n");
+            updateTreeVisualization();
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Tree<Integer> loadedTree = (Tree<Integer>) loadedObject;
+
+        // Determine the type of the loaded tree and update the UI
+        String treeType = determineTreeType(loadedTree);
+        if (treeType == null) {
+            outputArea.appendText("Error: Unknown tree type.\n");
+            return;
+        }
+
+        // the loaded tree replaces the one of its type, so switching away and back keeps it
+        currentTree = new TrackedTree<>(loadedTree);
+        trees.put(treeType, currentTree);
+        selectTreeType(treeType);
+        intervalMode = false;
+
+        outputArea.appendText("Tree loaded successfully.\n");
+        outputArea.appendText("Tree type: " + currentTree.type() + "\n");
+        outputArea.appendText("Tree size: " + currentTree.size() + "\n");
+        outputArea.appendText("Tree contents: " + preview(currentTree) + "\n");
+
+        updateTreeVisualization();
+    }
+
+    private static boolean isKeyFile(File file) {
+        return file.getName().endsWith(KEY_FILE_EXTENSION);
+    }
+
+    // A key file holds only the sorted keys, so it is written from and read into the selected integer tree
+    private void saveKeys(File file) {
+        if (intervalMode) {
+            outputArea.appendText("Intervals cannot be saved as a key file; use a .tree file.\n");
+            return;
+        }
+        Tree<Integer> tree = currentTree;
+        startTransfer("saving keys", transfer -> {
+            writeReplacing(file, transfer, out -> KeyCodec.write(tree, out));
+            return null;
+        }, result -> outputArea.appendText("Saved " + tree.size() + " keys in " + file.length() + " bytes.\n"));
+    }
+
+    private void loadKeys(File file) {
+        if (intervalMode) {
+            outputArea.appendText("Select an integer tree to load a key file into.\n");
+            return;
+        }
+        TrackedTree<Integer> tree = currentTree;
+        startTransfer("loading keys", transfer -> {
+            int[] keys;
+            try (InputStream in = transfer.read(file)) {
+                keys = KeyCodec.read(in);
+            }
+            // the tree is only changed once the whole file has been read
+            transfer.checkCancelled();
+            tree.clear();
+            tree.insertAllSorted(KeyCodec.asList(keys));
+            return null;
+        }, result -> {
+            outputArea.appendText("Loaded " + tree.size() + " keys into the " + treeTypeComboBox.getValue() + ": " + preview(tree) + "\n");
+            updateTreeVisualization();
+        });
+    }
+
+    private static boolean isKeyLog(File file) {
+        return file.getName().endsWith(KEY_LOG_EXTENSION);
+    }
+
+    private KeyLog keyLogFor(File file) throws IOException {
+        if (keyLog != null && keyLog.getFile().equals(file.toPath())) return keyLog;
+        if (keyLog != null) keyLog.close();
+        keyLog = new KeyLog(file.toPath());
+        return keyLog;
+    }
+
+    // Saving to the key log last used for this tree appends the changes since then; anything else is a full save.
+    // A key log is written in one step, either a short append or an atomic replace, so it shows no progress.
+    private void saveKeyLog(File file) {
+        if (intervalMode) {
+            outputArea.appendText("Intervals cannot be saved as a key log; use a .tree file.\n");
+            return;
+        }
+        TrackedTree<Integer> tree = currentTree;
+        startTransfer("saving key log", transfer -> {
+            KeyLog log = keyLogFor(file);
+            long written = log.save(tree);
+            return log.deltaCount() == 0
+                    ? "Saved all " + tree.size() + " keys in " + written + " bytes.\n"
+                    : "Saved the changes since the last save in " + written + " bytes.\n";
+        }, outputArea::appendText);
+    }
+
+    private void loadKeyLog(File file) {
+        if (intervalMode) {
+            outputArea.appendText("Select an integer tree to load a key log into.\n");
+            return;
+        }
+        TrackedTree<Integer> tree = currentTree;
+        startTransfer("loading key log", transfer -> {
+            keyLogFor(file).load(tree);
+            return null;
+        }, result -> {
+            outputArea.appendText("Loaded " + tree.size() + " keys into the " + treeTypeComboBox.getValue() + ": " + preview(tree) + "\n");
+            updateTreeVisualization();
+        });
+    }
+
+    // Background saves and loads. Only one runs at a time, and editing is
+    // disabled until its thread has finished, as the trees are not thread-safe.
+
+    private boolean transferRunning() {
+        if (transfer == null) return false;
+        outputArea.appendText("Wait for the current save or load to finish, or cancel it.\n");
+        return true;
+    }
+
+    /**
+     * Runs body on a background thread while the progress bar follows it.
+     * The state handlers end the transfer, as each of them only runs once
+     * body has stopped using the trees.
+     * @param done called on the FX thread with the result if body completes
+     */
+    private <V> void startTransfer(String description, TransferBody<V> body, Consumer<V> done) {
+        Transfer<V> task = new Transfer<>(body);
+        transfer = task;
+        setEditable(false);
+        progressBar.progressProperty().bind(task.progressProperty());
+        transferBox.setVisible(true);
+        task.setOnSucceeded(e -> {
+            finishTransfer();
+            done.accept(task.getValue());
+        });
+        task.setOnFailed(e -> {
+            finishTransfer();
+            outputArea.appendText("Error " + description + ": " + task.getException().getMessage() + "\n");
+        });
+        task.setOnCancelled(e -> {
+            finishTransfer();
+            outputArea.appendText("Cancelled " + description + ".\n");
+        });
+        Thread thread = new Thread(task, "Tree I/O");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void finishTransfer() {
+        transfer = null;
+        progressBar.progressProperty().unbind();
+        progressBar.setProgress(0);
+        transferBox.setVisible(false);
+        setEditable(true);
+    }
+
+    private void setEditable(boolean editable) {
+        for (Control control : List.of(treeTypeComboBox, insertButton, deleteButton, searchButton, clearButton)) {
+            control.setDisable(!editable);
+        }
+    }
+
+    /**
+     * Writes file through a temporary sibling that replaces it only once
+     * complete, so a cancelled or failed save leaves the old file intact.
+     */
+    private static void writeReplacing(File file, Transfer<?> transfer, StreamWriter writer) throws IOException {
+        Path target = file.toPath();
+        Path partial = target.resolveSibling(file.getName() + ".part");
+        try (OutputStream out = new BufferedOutputStream(transfer.write(Files.newOutputStream(partial)), BUFFER_SIZE)) {
+            writer.write(out);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @FunctionalInterface
+    private interface StreamWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface TransferBody<V> {
+        V run(Transfer<V> transfer) throws Exception;
+    }
+
+    /**
+     * Background save or load. The streams it hands out report progress
+     * and fail with InterruptedIOException once a cancel is requested, so
+     * even a blocking readObject() stops at the next buffer refill. The
+     * task is only marked cancelled after body has given up, so the
+     * cancelled handler never runs while body still uses a tree; a body
+     * which completes all the same succeeds.
+     */
+    private static final class Transfer<V> extends Task<V> {
+        private final TransferBody<V> body;
+        private volatile boolean cancelRequested;
+
+        Transfer(TransferBody<V> body) {
+            this.body = body;
+        }
+
+        @Override
+        protected V call() throws Exception {
+            try {
+                return body.run(this);
+            } catch (Exception e) {
+                if (cancelRequested) cancel(false);
+                throw e;
+            }
+        }
+
+        void requestCancel() {
+            cancelRequested = true;
+        }
+
+        void checkCancelled() throws InterruptedIOException {
+            if (cancelRequested) throw new InterruptedIOException("Cancelled");
+        }
+
+        /**
+         * Opens file for buffered reading, with progress measured against its length.
+         */
+        InputStream read(File file) throws IOException {
+            long total = Math.max(file.length(), 1);
+            InputStream counted = new FilterInputStream(Files.newInputStream(file.toPath())) {
+                private long done;
+
+                @Override
+                public int read() throws IOException {
+                    byte[] one = new byte[1];
+                    return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    checkCancelled();
+                    int n = in.read(b, off, len);
+                    if (n > 0) updateProgress(done += n, total);
+                    return n;
+                }
+
+                @Override
+                public long skip(long n) throws IOException {
+                    checkCancelled();
+                    long skipped = in.skip(n);
+                    updateProgress(done += skipped, total);
+                    return skipped;
+                }
+            };
+            return new BufferedInputStream(counted, BUFFER_SIZE);
+        }
+
+        /**
+         * Wraps out so that writing stops once cancelled. The size of a
+         * save is not known in advance, so its progress stays indeterminate.
+         */
+        OutputStream write(OutputStream out) {
+            return new FilterOutputStream(out) {
+                @Override
+                public void write(int b) throws IOException {
+                    checkCancelled();
+                    out.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    checkCancelled();
+                    out.write(b, off, len);
+                }
+            };
+        }
+    }
+
+    /**
+     * Summarizes a tree by its size and first few values, so that a huge
+     * tree is not turned into one giant string.
+     */
+    private static String preview(Tree<?> tree) {
+        int size = tree.size();
+        StringJoiner values = new StringJoiner(", ", "[", size > PREVIEW_VALUES ? ", ... " + (size - PREVIEW_VALUES) + " more]" : "]");
+        Spliterator<?> spliterator = tree.spliterator();
+        for (int i = 0; i < PREVIEW_VALUES && spliterator.tryAdvance(value -> values.add(String.valueOf(value))); i++) {
+        }
+        return size + " values " + values;
+    }
+
+    // the combo box entry whose tree has the same class and type as tree, e.g. AVL and WAVL share a class
+    private String determineTreeType(Tree<?> tree) {
+        for (Map.Entry<String, TrackedTree<Integer>> entry : trees.entrySet()) {
+            Tree<Integer> known = entry.getValue().getTree();
+            if (known.getClass() == tree.getClass() && known.type().equals(tree.type())) return entry.getKey();
+        }
+        return null;
+    }
+
+    // shows type in the combo box without the switch its handler would make
+    private void selectTreeType(String type) {
+        selectingType = true;
+        try {
+            treeTypeComboBox.setValue(type);
+        } finally {
+            selectingType = false;
+        }
+    }
+}